@@ -0,0 +1,78 @@
+package io.getunleash;
+
+import io.getunleash.repository.ToggleBootstrapFileProvider;
+import io.getunleash.util.UnleashConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks allocations per evaluation on the context enrichment path. Run with the GC profiler
+ * (`java -jar target/benchmarks.jar ContextEnrichmentBenchmark -prof gc`) and compare
+ * gc.alloc.rate.norm between the benchmarks.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3, timeUnit = TimeUnit.MILLISECONDS, time = 2000)
+@Measurement(iterations = 5, timeUnit = TimeUnit.MILLISECONDS, time = 5000)
+public class ContextEnrichmentBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class MyState {
+
+        public UnleashConfig config;
+        public Unleash unleash;
+        public UnleashContext completeContext;
+        public UnleashContext partialContext;
+
+        @Setup(Level.Trial)
+        public void doSetup() {
+            config = UnleashConfig.builder().unleashAPI("https://localhost:1500")
+                    .apiKey("irrelevant").appName("UnleashBenchmarks").environment("benchmarking")
+                    .toggleBootstrapProvider(
+                            new ToggleBootstrapFileProvider("classpath:./unleash-repo-v2-with-impression-data.json"))
+                    .fetchTogglesInterval(0).disablePolling().disableMetrics().build();
+            unleash = new DefaultUnleash(config);
+            completeContext = new UnleashContext.Builder().appName("UnleashBenchmarks")
+                    .environment("benchmarking").userId("user-1").addProperty("tenant", "acme").build();
+            partialContext = new UnleashContext.Builder().userId("user-1").addProperty("tenant", "acme").build();
+        }
+
+        @TearDown(Level.Trial)
+        public void doTearDown() {
+            unleash.shutdown();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(ContextEnrichmentBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class).forks(1).build();
+        new Runner(opt).run();
+    }
+
+    @Benchmark
+    public void applyStaticFieldsComplete(MyState myState, Blackhole bh) {
+        bh.consume(myState.completeContext.applyStaticFields(myState.config));
+    }
+
+    @Benchmark
+    public void applyStaticFieldsReusedContext(MyState myState, Blackhole bh) {
+        bh.consume(myState.partialContext.applyStaticFields(myState.config));
+    }
+
+    @Benchmark
+    public void applyStaticFieldsFreshContext(MyState myState, Blackhole bh) {
+        bh.consume(UnleashContext.builder().userId("user-1").build().applyStaticFields(myState.config));
+    }
+
+    @Benchmark
+    public void isEnabledReusedContext(MyState myState, Blackhole bh) {
+        bh.consume(myState.unleash.isEnabled("Test.impressionDataPresent", myState.partialContext));
+    }
+}
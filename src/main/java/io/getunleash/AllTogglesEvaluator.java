@@ -0,0 +1,54 @@
+package io.getunleash;
+
+import static io.getunleash.variant.Variant.DISABLED_VARIANT;
+
+import io.getunleash.engine.VariantDef;
+import io.getunleash.engine.WasmResponse;
+import io.getunleash.repository.FeatureRepository;
+import io.getunleash.repository.YggdrasilAdapters;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.variant.PayloadCache;
+import io.getunleash.variant.Variant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates every known toggle for one context. The context is enriched and translated for the
+ * engine once, and the toggle names come from the repository's per-state list. Evaluation stays on
+ * the calling thread: the engine serializes every call on a single lock, so splitting the work
+ * across threads only adds contention.
+ */
+final class AllTogglesEvaluator {
+    private final FeatureRepository featureRepository;
+    private final UnleashConfig config;
+    private final PayloadCache payloadCache;
+
+    AllTogglesEvaluator(
+            FeatureRepository featureRepository, UnleashConfig config, PayloadCache payloadCache) {
+        this.featureRepository = featureRepository;
+        this.config = config;
+        this.payloadCache = payloadCache;
+    }
+
+    List<EvaluatedToggle> evaluate(UnleashContext context) {
+        UnleashContext enhancedContext = context.applyStaticFields(config);
+        // Read before evaluating: if the state changes midway, results are tagged with the older
+        // generation and callers will treat them as stale.
+        long stateGeneration = featureRepository.getStateGeneration();
+        List<String> toggleNames = featureRepository.getToggleNames();
+        List<EvaluatedToggle> results = new ArrayList<>(toggleNames.size());
+        for (String toggleName : toggleNames) {
+            WasmResponse<VariantDef> response =
+                    featureRepository.getVariant(toggleName, enhancedContext);
+            Variant variant =
+                    YggdrasilAdapters.adapt(
+                            response == null ? null : response.value,
+                            DISABLED_VARIANT,
+                            payloadCache);
+            results.add(
+                    new EvaluatedToggle(
+                            toggleName, variant.isFeatureEnabled(), variant, stateGeneration));
+        }
+        return results;
+    }
+}
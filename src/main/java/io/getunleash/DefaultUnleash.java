@@ -5,20 +5,24 @@ import static io.getunleash.variant.Variant.DISABLED_VARIANT;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.engine.WasmResponse;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.ImpressionEvent;
 import io.getunleash.event.IsEnabledImpressionEvent;
 import io.getunleash.event.ToggleEvaluated;
 import io.getunleash.event.VariantImpressionEvent;
+import io.getunleash.lang.Nullable;
 import io.getunleash.metric.UnleashMetricService;
+import io.getunleash.repository.ConstantToggles;
 import io.getunleash.repository.FeatureRepository;
 import io.getunleash.repository.YggdrasilAdapters;
 import io.getunleash.strategy.*;
 import io.getunleash.util.UnleashConfig;
+import io.getunleash.variant.PayloadCache;
 import io.getunleash.variant.Variant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiPredicate;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,11 +31,17 @@ public class DefaultUnleash implements Unleash {
 
     private static ConcurrentHashMap<String, LongAdder> initCounts = new ConcurrentHashMap<>();
 
+    private static final BiPredicate<String, UnleashContext> DISABLED_FALLBACK = (n, c) -> false;
+
     private final UnleashMetricService metricService;
     private final FeatureRepository featureRepository;
     private final UnleashContextProvider contextProvider;
     private final EventDispatcher eventDispatcher;
     private final UnleashConfig config;
+    private final boolean dispatchToggleEvaluated;
+    private final boolean dispatchImpressions;
+    private final AllTogglesEvaluator allTogglesEvaluator;
+    private final PayloadCache payloadCache = new PayloadCache(PayloadCache.DEFAULT_CAPACITY);
 
     private static EngineProxy defaultToggleRepository(
             UnleashConfig unleashConfig, Strategy... strategies) {
@@ -72,6 +82,10 @@ public class DefaultUnleash implements Unleash {
         this.metricService = engineProxy;
         this.contextProvider = contextProvider;
         this.eventDispatcher = eventDispatcher;
+        this.dispatchToggleEvaluated = eventDispatcher.isInterestedIn(ToggleEvaluated.class);
+        this.dispatchImpressions = eventDispatcher.isInterestedIn(ImpressionEvent.class);
+        this.allTogglesEvaluator =
+                new AllTogglesEvaluator(engineProxy, unleashConfig, payloadCache);
         initCounts.compute(
                 config.getClientIdentifier(),
                 (key, inits) -> {
@@ -110,9 +124,26 @@ public class DefaultUnleash implements Unleash {
             String toggleName,
             UnleashContext context,
             BiPredicate<String, UnleashContext> fallbackAction) {
+        return checkEnabled(toggleName, context, context.applyStaticFields(config), fallbackAction);
+    }
 
+    @Override
+    public Map<String, Boolean> isEnabled(Collection<String> toggleNames, UnleashContext context) {
         UnleashContext enhancedContext = context.applyStaticFields(config);
+        Map<String, Boolean> results = new LinkedHashMap<>(capacityFor(toggleNames.size()));
+        for (String toggleName : toggleNames) {
+            results.put(
+                    toggleName,
+                    checkEnabled(toggleName, context, enhancedContext, DISABLED_FALLBACK));
+        }
+        return results;
+    }
 
+    private boolean checkEnabled(
+            String toggleName,
+            UnleashContext context,
+            UnleashContext enhancedContext,
+            BiPredicate<String, UnleashContext> fallbackAction) {
         WasmResponse<Boolean> response =
                 this.featureRepository.isEnabled(toggleName, enhancedContext);
         Boolean enabled = response.value;
@@ -120,8 +151,10 @@ public class DefaultUnleash implements Unleash {
             enabled = fallbackAction.test(toggleName, enhancedContext);
         }
 
-        eventDispatcher.dispatch(new ToggleEvaluated(toggleName, enabled));
-        if (response.impressionData) {
+        if (dispatchToggleEvaluated) {
+            eventDispatcher.dispatch(new ToggleEvaluated(toggleName, enabled));
+        }
+        if (dispatchImpressions && response.impressionData) {
             eventDispatcher.dispatch(new IsEnabledImpressionEvent(toggleName, enabled, context));
         }
         return enabled;
@@ -144,14 +177,34 @@ public class DefaultUnleash implements Unleash {
 
     @Override
     public Variant getVariant(String toggleName, UnleashContext context, Variant defaultValue) {
+        return resolveVariant(toggleName, context, context.applyStaticFields(config), defaultValue);
+    }
+
+    @Override
+    public Map<String, Variant> getVariants(
+            Collection<String> toggleNames, UnleashContext context) {
         UnleashContext enhancedContext = context.applyStaticFields(config);
+        Map<String, Variant> results = new LinkedHashMap<>(capacityFor(toggleNames.size()));
+        for (String toggleName : toggleNames) {
+            results.put(
+                    toggleName,
+                    resolveVariant(toggleName, context, enhancedContext, DISABLED_VARIANT));
+        }
+        return results;
+    }
+
+    private Variant resolveVariant(
+            String toggleName,
+            UnleashContext context,
+            UnleashContext enhancedContext,
+            Variant defaultValue) {
         WasmResponse<VariantDef> response =
                 this.featureRepository.getVariant(toggleName, enhancedContext);
-        Optional<VariantDef> variantDef = Optional.ofNullable(response.value);
-
-        Variant variant = YggdrasilAdapters.adapt(variantDef, defaultValue);
-        eventDispatcher.dispatch(new ToggleEvaluated(toggleName, variant.isFeatureEnabled()));
-        if (response.impressionData) {
+        Variant variant = YggdrasilAdapters.adapt(response.value, defaultValue, payloadCache);
+        if (dispatchToggleEvaluated) {
+            eventDispatcher.dispatch(new ToggleEvaluated(toggleName, variant.isFeatureEnabled()));
+        }
+        if (dispatchImpressions && response.impressionData) {
             eventDispatcher.dispatch(
                     new VariantImpressionEvent(
                             toggleName, variant.isFeatureEnabled(), context, variant.getName()));
@@ -159,9 +212,29 @@ public class DefaultUnleash implements Unleash {
         return variant;
     }
 
+    private static int capacityFor(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+
+    @Override
+    public ToggleHandle toggle(String toggleName) {
+        // Not cached: callers keep the handles they reuse, and caching by arbitrary names would
+        // grow without bound.
+        return new DefaultToggleHandle(toggleName);
+    }
+
+    @Override
+    public CompletableFuture<Void> readyFuture() {
+        return featureRepository.readyFuture();
+    }
+
     @Override
     public void shutdown() {
+        featureRepository.shutdown();
         config.getScheduledExecutor().shutdown();
+        if (config.getEventRingBuffer() != null) {
+            config.getEventRingBuffer().shutdown();
+        }
     }
 
     @Override
@@ -169,22 +242,127 @@ public class DefaultUnleash implements Unleash {
         return new DefaultMore();
     }
 
+    /**
+     * Remembers whether the toggle has a fixed result under the current state. Such toggles are
+     * answered without preparing the context or calling the engine, until the state changes.
+     */
+    private class DefaultToggleHandle implements ToggleHandle {
+        private final String name;
+        @Nullable private volatile ResolvedToggle resolved;
+
+        private DefaultToggleHandle(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return isEnabled(contextProvider.getContext());
+        }
+
+        @Override
+        public boolean isEnabled(UnleashContext context) {
+            return isEnabled(context, DISABLED_FALLBACK);
+        }
+
+        @Override
+        public boolean isEnabled(UnleashContext context, boolean defaultSetting) {
+            return isEnabled(context, defaultSetting ? (n, c) -> true : DISABLED_FALLBACK);
+        }
+
+        private boolean isEnabled(
+                UnleashContext context, BiPredicate<String, UnleashContext> fallbackAction) {
+            ConstantToggles.Constant constant = constant();
+            if (constant == null) {
+                return checkEnabled(
+                        name, context, context.applyStaticFields(config), fallbackAction);
+            }
+            // Constant toggles never have impression data, so there's no impression to send.
+            boolean enabled = constant.evaluate().value;
+            if (dispatchToggleEvaluated) {
+                eventDispatcher.dispatch(new ToggleEvaluated(name, enabled));
+            }
+            return enabled;
+        }
+
+        @Nullable
+        private ConstantToggles.Constant constant() {
+            long generation = featureRepository.getStateGeneration();
+            ResolvedToggle current = resolved;
+            if (current == null || current.generation != generation) {
+                // Looked up after reading the generation, so the entry is never older than it.
+                current = new ResolvedToggle(generation, featureRepository.getConstant(name));
+                resolved = current;
+            }
+            return current.constant;
+        }
+
+        @Override
+        public Variant getVariant() {
+            return getVariant(contextProvider.getContext());
+        }
+
+        @Override
+        public Variant getVariant(UnleashContext context) {
+            return getVariant(context, DISABLED_VARIANT);
+        }
+
+        @Override
+        public Variant getVariant(UnleashContext context, Variant defaultValue) {
+            return resolveVariant(name, context, context.applyStaticFields(config), defaultValue);
+        }
+    }
+
+    private static final class ResolvedToggle {
+        private final long generation;
+        @Nullable private final ConstantToggles.Constant constant;
+
+        private ResolvedToggle(long generation, @Nullable ConstantToggles.Constant constant) {
+            this.generation = generation;
+            this.constant = constant;
+        }
+    }
+
     public class DefaultMore implements MoreOperations {
 
         @Override
         public List<String> getFeatureToggleNames() {
-            return featureRepository
-                    .listKnownToggles()
-                    .map(FeatureDefinition::getName)
-                    .collect(Collectors.toList());
+            // A copy, callers have always been free to sort or modify the result.
+            return new ArrayList<>(featureRepository.getToggleNames());
         }
 
         @Override
         public Optional<FeatureDefinition> getFeatureToggleDefinition(String toggleName) {
-            return featureRepository
-                    .listKnownToggles()
-                    .filter(toggle -> toggle.getName().equals(toggleName))
-                    .findFirst();
+            return featureRepository.getFeatureDefinition(toggleName);
+        }
+
+        @Override
+        public List<FeatureDefinition> getFeatureToggleDefinitionsByProject(String project) {
+            return featureRepository.getFeatureDefinitionsByProject(project);
+        }
+
+        @Override
+        public List<FeatureDefinition> getFeatureToggleDefinitionsByType(String type) {
+            return featureRepository.getFeatureDefinitionsByType(type);
+        }
+
+        @Override
+        public long getStateGeneration() {
+            return featureRepository.getStateGeneration();
+        }
+
+        @Override
+        public void watch(String toggleName, ToggleChangeListener listener) {
+            featureRepository.watch(toggleName, listener);
+        }
+
+        @Override
+        public void unwatch(String toggleName, ToggleChangeListener listener) {
+            featureRepository.unwatch(toggleName, listener);
         }
 
         @Override
@@ -194,21 +372,7 @@ public class DefaultUnleash implements Unleash {
 
         @Override
         public List<EvaluatedToggle> evaluateAllToggles(UnleashContext context) {
-            return featureRepository
-                    .listKnownToggles()
-                    .map(FeatureDefinition::getName)
-                    .map(
-                            toggleName -> {
-                                UnleashContext enhancedContext = context.applyStaticFields(config);
-                                WasmResponse<VariantDef> response =
-                                        featureRepository.getVariant(toggleName, enhancedContext);
-                                Optional<VariantDef> variantDef = Optional.of(response.value);
-                                Variant variant =
-                                        YggdrasilAdapters.adapt(variantDef, DISABLED_VARIANT);
-                                return new EvaluatedToggle(
-                                        toggleName, variant.isFeatureEnabled(), variant);
-                            })
-                    .collect(Collectors.toList());
+            return allTogglesEvaluator.evaluate(context);
         }
     }
 }
@@ -0,0 +1,49 @@
+package io.getunleash;
+
+import io.getunleash.variant.Variant;
+
+/** Handle that simply forwards to the name-based methods of an {@link Unleash} instance. */
+class DelegatingToggleHandle implements ToggleHandle {
+    private final Unleash unleash;
+    private final String name;
+
+    DelegatingToggleHandle(Unleash unleash, String name) {
+        this.unleash = unleash;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return unleash.isEnabled(name);
+    }
+
+    @Override
+    public boolean isEnabled(UnleashContext context) {
+        return unleash.isEnabled(name, context);
+    }
+
+    @Override
+    public boolean isEnabled(UnleashContext context, boolean defaultSetting) {
+        return unleash.isEnabled(name, context, defaultSetting);
+    }
+
+    @Override
+    public Variant getVariant() {
+        return unleash.getVariant(name);
+    }
+
+    @Override
+    public Variant getVariant(UnleashContext context) {
+        return unleash.getVariant(name, context);
+    }
+
+    @Override
+    public Variant getVariant(UnleashContext context, Variant defaultValue) {
+        return unleash.getVariant(name, context, defaultValue);
+    }
+}
@@ -6,14 +6,17 @@ import io.getunleash.engine.WasmResponse;
 import io.getunleash.lang.Nullable;
 import io.getunleash.metric.UnleashMetricService;
 import io.getunleash.metric.UnleashMetricServiceImpl;
+import io.getunleash.repository.ConstantToggles;
 import io.getunleash.repository.FeatureRepositoryImpl;
 import io.getunleash.repository.YggdrasilAdapters;
 import io.getunleash.strategy.Strategy;
 import io.getunleash.util.UnleashConfig;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,7 +41,10 @@ public class EngineProxyImpl implements EngineProxy {
         this.featureRepository = new FeatureRepositoryImpl(unleashConfig, unleashEngine);
         this.metricService =
                 new UnleashMetricServiceImpl(
-                        unleashConfig, unleashConfig.getScheduledExecutor(), this.unleashEngine);
+                        unleashConfig,
+                        unleashConfig.getScheduledExecutor(),
+                        this.unleashEngine,
+                        this.featureRepository.getConstantToggles());
 
         metricService.register(strategyMap.keySet());
     }
@@ -48,6 +54,12 @@ public class EngineProxyImpl implements EngineProxy {
         return this.featureRepository.isEnabled(toggleName, context);
     }
 
+    @Override
+    @Nullable
+    public ConstantToggles.Constant getConstant(String toggleName) {
+        return this.featureRepository.getConstant(toggleName);
+    }
+
     @Override
     public WasmResponse<VariantDef> getVariant(String toggleName, UnleashContext context) {
         return this.featureRepository.getVariant(toggleName, context);
@@ -63,6 +75,51 @@ public class EngineProxyImpl implements EngineProxy {
         return this.featureRepository.listKnownToggles();
     }
 
+    @Override
+    public List<String> getToggleNames() {
+        return this.featureRepository.getToggleNames();
+    }
+
+    @Override
+    public Optional<FeatureDefinition> getFeatureDefinition(String toggleName) {
+        return this.featureRepository.getFeatureDefinition(toggleName);
+    }
+
+    @Override
+    public List<FeatureDefinition> getFeatureDefinitionsByProject(String project) {
+        return this.featureRepository.getFeatureDefinitionsByProject(project);
+    }
+
+    @Override
+    public List<FeatureDefinition> getFeatureDefinitionsByType(String type) {
+        return this.featureRepository.getFeatureDefinitionsByType(type);
+    }
+
+    @Override
+    public long getStateGeneration() {
+        return this.featureRepository.getStateGeneration();
+    }
+
+    @Override
+    public void watch(String toggleName, ToggleChangeListener listener) {
+        this.featureRepository.watch(toggleName, listener);
+    }
+
+    @Override
+    public void unwatch(String toggleName, ToggleChangeListener listener) {
+        this.featureRepository.unwatch(toggleName, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> readyFuture() {
+        return this.featureRepository.readyFuture();
+    }
+
+    @Override
+    public void shutdown() {
+        this.featureRepository.shutdown();
+    }
+
     private static Map<String, Strategy> buildStrategyMap(@Nullable Strategy[] strategies) {
         Map<String, Strategy> map = new HashMap<>();
 
@@ -7,11 +7,18 @@ public class EvaluatedToggle {
     private final boolean enabled;
     private final String name;
     @Nullable private final Variant variant;
+    private final long stateGeneration;
 
     public EvaluatedToggle(String name, boolean enabled, @Nullable Variant variant) {
+        this(name, enabled, variant, 0);
+    }
+
+    public EvaluatedToggle(
+            String name, boolean enabled, @Nullable Variant variant, long stateGeneration) {
         this.enabled = enabled;
         this.name = name;
         this.variant = variant;
+        this.stateGeneration = stateGeneration;
     }
 
     public boolean isEnabled() {
@@ -26,4 +33,12 @@ public class EvaluatedToggle {
     public Variant getVariant() {
         return variant;
     }
+
+    /**
+     * @return the feature state generation this toggle was evaluated against, see {@link
+     *     MoreOperations#getStateGeneration()}
+     */
+    public long getStateGeneration() {
+        return stateGeneration;
+    }
 }
@@ -2,15 +2,61 @@ package io.getunleash;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface MoreOperations {
 
+    /**
+     * @return the names of all known toggles. The returned list may be shared and must not be
+     *     modified.
+     */
     List<String> getFeatureToggleNames();
 
     Optional<FeatureDefinition> getFeatureToggleDefinition(String toggleName);
 
+    /** Definitions of all known toggles belonging to the given project. */
+    default List<FeatureDefinition> getFeatureToggleDefinitionsByProject(String project) {
+        return getFeatureToggleNames().stream()
+                .map(this::getFeatureToggleDefinition)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(definition -> project.equals(definition.getProject()))
+                .collect(Collectors.toList());
+    }
+
+    /** Definitions of all known toggles of the given type, e.g. {@code release}. */
+    default List<FeatureDefinition> getFeatureToggleDefinitionsByType(String type) {
+        return getFeatureToggleNames().stream()
+                .map(this::getFeatureToggleDefinition)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(definition -> definition.getType().filter(type::equals).isPresent())
+                .collect(Collectors.toList());
+    }
+
     List<EvaluatedToggle> evaluateAllToggles();
 
+    /**
+     * A counter that increases every time the client takes a new feature state, whether fetched,
+     * bootstrapped or restored from backup. Anything derived from toggle state can store the
+     * generation it was computed at and compare it to this cheap read to know if it is stale.
+     *
+     * @return the current generation, 0 before any state has been loaded
+     */
+    default long getStateGeneration() {
+        return 0;
+    }
+
+    /**
+     * Calls the listener whenever a new feature state adds, removes or modifies the toggle. A
+     * listener watching several toggles is called once per update with all of their changes.
+     * Clients that don't track toggle changes never call the listener.
+     */
+    default void watch(String toggleName, ToggleChangeListener listener) {}
+
+    /** Stops calling the listener for changes to the toggle. */
+    default void unwatch(String toggleName, ToggleChangeListener listener) {}
+
     /**
      * Evaluate all toggles using the provided context. This does not record the corresponding usage
      * metrics for each toggle
@@ -0,0 +1,20 @@
+package io.getunleash;
+
+import io.getunleash.event.FeatureChanged;
+import java.util.List;
+
+/**
+ * Notified when toggles registered through {@link MoreOperations#watch(String,
+ * ToggleChangeListener)} are added, removed or modified by a new feature state.
+ */
+@FunctionalInterface
+public interface ToggleChangeListener {
+
+    /**
+     * Called at most once per state update, with the changes to every toggle this listener watches.
+     * Runs on the thread that applied the update, so it should hand expensive work off.
+     *
+     * @param changes the watched toggles that changed, ordered by toggle name
+     */
+    void onChange(List<FeatureChanged> changes);
+}
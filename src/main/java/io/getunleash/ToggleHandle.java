@@ -0,0 +1,26 @@
+package io.getunleash;
+
+import io.getunleash.variant.Variant;
+
+/**
+ * A reference to a single toggle, obtained from {@link Unleash#toggle(String)}. Hold on to it and
+ * reuse it for toggles that are checked very often: a toggle whose result doesn't depend on the
+ * context is resolved once per feature state and then answered without evaluating it. It stays
+ * valid across feature state updates.
+ */
+public interface ToggleHandle {
+
+    String getName();
+
+    boolean isEnabled();
+
+    boolean isEnabled(UnleashContext context);
+
+    boolean isEnabled(UnleashContext context, boolean defaultSetting);
+
+    Variant getVariant();
+
+    Variant getVariant(UnleashContext context);
+
+    Variant getVariant(UnleashContext context, Variant defaultValue);
+}
@@ -1,6 +1,10 @@
 package io.getunleash;
 
 import io.getunleash.variant.Variant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiPredicate;
 
 public interface Unleash {
@@ -43,6 +47,65 @@ public interface Unleash {
         return getVariant(toggleName, UnleashContext.builder().build(), defaultValue);
     }
 
+    /**
+     * Evaluate several toggles against the same context. Implementations may prepare the context
+     * once for the whole batch; metrics and impression events are recorded for every toggle as if
+     * each had been checked individually.
+     *
+     * @param toggleNames the toggles to evaluate
+     * @param context the context to evaluate them against
+     * @return whether each toggle is enabled, in iteration order of {@code toggleNames}
+     */
+    default Map<String, Boolean> isEnabled(Collection<String> toggleNames, UnleashContext context) {
+        Map<String, Boolean> results = new LinkedHashMap<>();
+        for (String toggleName : toggleNames) {
+            results.put(toggleName, isEnabled(toggleName, context));
+        }
+        return results;
+    }
+
+    /**
+     * Resolve the variants of several toggles against the same context. See {@link
+     * #isEnabled(Collection, UnleashContext)}.
+     *
+     * @param toggleNames the toggles to resolve variants for
+     * @param context the context to evaluate them against
+     * @return the variant of each toggle, in iteration order of {@code toggleNames}
+     */
+    default Map<String, Variant> getVariants(
+            Collection<String> toggleNames, UnleashContext context) {
+        Map<String, Variant> results = new LinkedHashMap<>();
+        for (String toggleName : toggleNames) {
+            results.put(toggleName, getVariant(toggleName, context));
+        }
+        return results;
+    }
+
+    /**
+     * Get a reusable handle for a single toggle. Prefer this over passing the toggle name on every
+     * call for toggles that are evaluated very often.
+     *
+     * @param toggleName the name of the toggle
+     * @return a handle that can be kept and reused for the lifetime of this instance
+     */
+    default ToggleHandle toggle(String toggleName) {
+        return new DelegatingToggleHandle(this, toggleName);
+    }
+
+    /**
+     * Completes once toggles can be evaluated against a real state, restored from the backup or
+     * bootstrap or fetched from the server, e.g. for a readiness probe:
+     *
+     * <pre>
+     *   unleash.readyFuture().get(5, TimeUnit.SECONDS);
+     * </pre>
+     *
+     * @return a future that completes when the client is ready, already completed by default
+     */
+    default CompletableFuture<Void> readyFuture() {
+        return CompletableFuture.completedFuture(null);
+    }
+
     default void shutdown() {}
 
     MoreOperations more();
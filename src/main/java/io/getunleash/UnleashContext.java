@@ -1,11 +1,14 @@
 package io.getunleash;
 
+import io.getunleash.engine.Context;
 import io.getunleash.lang.Nullable;
+import io.getunleash.repository.YggdrasilAdapters;
 import io.getunleash.util.UnleashConfig;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 public class UnleashContext {
@@ -18,6 +21,11 @@ public class UnleashContext {
 
     private final Map<String, String> properties;
 
+    // Racy single-check memo of applyStaticFields; safe because every field is final.
+    @Nullable private UnleashContext enriched;
+
+    @Nullable private volatile Context engineContext;
+
     public UnleashContext(
             String userId, String sessionId, String remoteAddress, Map<String, String> properties) {
         this(null, null, userId, sessionId, remoteAddress, null, properties);
@@ -50,6 +58,17 @@ public class UnleashContext {
         this.properties = properties;
     }
 
+    private UnleashContext(
+            Optional<String> appName, Optional<String> environment, UnleashContext source) {
+        this.appName = appName;
+        this.environment = environment;
+        this.userId = source.userId;
+        this.sessionId = source.sessionId;
+        this.remoteAddress = source.remoteAddress;
+        this.currentTime = source.currentTime;
+        this.properties = source.properties;
+    }
+
     public Optional<String> getUserId() {
         return userId;
     }
@@ -78,6 +97,21 @@ public class UnleashContext {
         return currentTime;
     }
 
+    /**
+     * The context as the evaluation engine consumes it. Translated on first use and reused for
+     * every later evaluation of this context; the properties map is shared, not copied.
+     *
+     * @return the engine representation of this context
+     */
+    public Context getEngineContext() {
+        Context translated = engineContext;
+        if (translated == null) {
+            translated = YggdrasilAdapters.translate(this);
+            engineContext = translated;
+        }
+        return translated;
+    }
+
     public Optional<String> getByName(String contextName) {
         switch (contextName) {
             case "environment":
@@ -95,15 +129,36 @@ public class UnleashContext {
         }
     }
 
+    /**
+     * Fills in appName and environment from the config when this context doesn't set them. Returns
+     * this context when both are already present, and otherwise remembers the enriched copy so that
+     * evaluating many toggles against the same context only enriches it once. The enriched copy
+     * shares the properties map of this context.
+     */
     public UnleashContext applyStaticFields(UnleashConfig config) {
-        Builder builder = new Builder(this);
-        if (!this.environment.isPresent()) {
-            builder.environment(config.getEnvironment());
+        if (this.appName.isPresent() && this.environment.isPresent()) {
+            return this;
         }
-        if (!this.appName.isPresent()) {
-            builder.appName(config.getAppName());
+        UnleashContext cached = this.enriched;
+        if (cached != null
+                && (this.appName.isPresent()
+                        || Objects.equals(cached.appName.orElse(null), config.getAppName()))
+                && (this.environment.isPresent()
+                        || Objects.equals(
+                                cached.environment.orElse(null), config.getEnvironment()))) {
+            return cached;
         }
-        return builder.build();
+        cached =
+                new UnleashContext(
+                        this.appName.isPresent()
+                                ? this.appName
+                                : Optional.ofNullable(config.getAppName()),
+                        this.environment.isPresent()
+                                ? this.environment
+                                : Optional.ofNullable(config.getEnvironment()),
+                        this);
+        this.enriched = cached;
+        return cached;
     }
 
     public static Builder builder() {
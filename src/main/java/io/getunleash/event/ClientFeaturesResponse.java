@@ -16,6 +16,8 @@ public final class ClientFeaturesResponse implements UnleashEvent {
     private final Status statusCode;
     private final int httpStatusCode;
     private final Optional<String> location;
+    private final long stateGeneration;
+    private final boolean delta;
     private List<FeatureDefinition> features;
 
     private ClientFeaturesResponse(
@@ -23,10 +25,22 @@ public final class ClientFeaturesResponse implements UnleashEvent {
             int httpStatusCode,
             Optional<String> clientFeatures,
             Optional<String> location) {
+        this(status, httpStatusCode, clientFeatures, location, 0, false);
+    }
+
+    private ClientFeaturesResponse(
+            Status status,
+            int httpStatusCode,
+            Optional<String> clientFeatures,
+            Optional<String> location,
+            long stateGeneration,
+            boolean delta) {
         this.statusCode = status;
         this.clientFeatures = clientFeatures;
         this.httpStatusCode = httpStatusCode;
         this.location = location;
+        this.stateGeneration = stateGeneration;
+        this.delta = delta;
     }
 
     public static ClientFeaturesResponse notChanged() {
@@ -39,6 +53,16 @@ public final class ClientFeaturesResponse implements UnleashEvent {
                 Status.CHANGED, 200, Optional.of(clientFeatures), Optional.empty());
     }
 
+    /**
+     * @param delta a {@code /client/delta} document, i.e. {@code hydration}, {@code
+     *     feature-updated}, {@code feature-removed}, {@code segment-updated} and {@code
+     *     segment-removed} events
+     */
+    public static ClientFeaturesResponse delta(String delta) {
+        return new ClientFeaturesResponse(
+                Status.CHANGED, 200, Optional.of(delta), Optional.empty(), 0, true);
+    }
+
     public static ClientFeaturesResponse unavailable(int statusCode, Optional<String> location) {
         return new ClientFeaturesResponse(
                 Status.UNAVAILABLE, statusCode, Optional.empty(), location);
@@ -56,9 +80,23 @@ public final class ClientFeaturesResponse implements UnleashEvent {
         return statusCode;
     }
 
+    /**
+     * Whether {@link #getClientFeatures()} holds delta events rather than a complete feature state.
+     */
+    public boolean isDelta() {
+        return delta;
+    }
+
+    /**
+     * @return the features in this response. For a {@link #isDelta() delta}, only the features it
+     *     hydrated or updated.
+     */
     public List<FeatureDefinition> getFeatures() {
         if (clientFeatures.isPresent() && features == null) {
-            features = ClientFeaturesParser.parse(clientFeatures.get());
+            features =
+                    delta
+                            ? ClientFeaturesParser.parseDelta(clientFeatures.get())
+                            : ClientFeaturesParser.parse(clientFeatures.get());
         }
         return features;
     }
@@ -67,6 +105,28 @@ public final class ClientFeaturesResponse implements UnleashEvent {
         return location.orElse(null);
     }
 
+    /**
+     * @return the client's feature state generation once this response has been applied, see {@link
+     *     io.getunleash.MoreOperations#getStateGeneration()}. 0 until the response has been handled
+     *     by the repository.
+     */
+    public long getStateGeneration() {
+        return stateGeneration;
+    }
+
+    public ClientFeaturesResponse withStateGeneration(long stateGeneration) {
+        ClientFeaturesResponse copy =
+                new ClientFeaturesResponse(
+                        statusCode,
+                        httpStatusCode,
+                        clientFeatures,
+                        location,
+                        stateGeneration,
+                        delta);
+        copy.features = this.features;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "ClientFeatureResponse:"
@@ -1,19 +1,45 @@
 package io.getunleash.event;
 
+import io.getunleash.lang.Nullable;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EventDispatcher {
 
     private final UnleashSubscriber unleashSubscriber;
     private final UnleashScheduledExecutor unleashScheduledExecutor;
+    @Nullable private final EventRingBuffer eventRingBuffer;
+    private final Map<Class<? extends UnleashEvent>, Boolean> interest = new ConcurrentHashMap<>();
 
     public EventDispatcher(UnleashConfig unleashConfig) {
         this.unleashSubscriber = unleashConfig.getSubscriber();
         this.unleashScheduledExecutor = unleashConfig.getScheduledExecutor();
+        this.eventRingBuffer = unleashConfig.getEventRingBuffer();
+    }
+
+    /**
+     * @param eventType the type of event about to be created
+     * @return false if the subscriber ignores events of this type, so they need not be created
+     */
+    public boolean isInterestedIn(Class<? extends UnleashEvent> eventType) {
+        Boolean interested = interest.get(eventType);
+        if (interested == null) {
+            interested = unleashSubscriber.isInterestedIn(eventType);
+            interest.put(eventType, interested);
+        }
+        return interested;
     }
 
     public void dispatch(UnleashEvent unleashEvent) {
+        if (!isInterestedIn(unleashEvent.getClass())) {
+            return;
+        }
+        if (eventRingBuffer != null) {
+            eventRingBuffer.publish(unleashEvent);
+            return;
+        }
         unleashScheduledExecutor.scheduleOnce(
                 () -> {
                     unleashSubscriber.on(unleashEvent);
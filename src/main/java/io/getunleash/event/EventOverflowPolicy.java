@@ -0,0 +1,15 @@
+package io.getunleash.event;
+
+/** Decides what happens to an event when the {@link EventRingBuffer} is full. */
+public enum EventOverflowPolicy {
+    /** Evict the oldest queued event to make room for the new one. */
+    DROP_OLDEST,
+    /** Discard the event being dispatched and keep the queued ones. */
+    DROP_NEWEST,
+    /**
+     * Make the dispatching thread wait until the consumer has freed a slot. Events published from
+     * the consumer thread itself, i.e. by a subscriber, are dropped instead, since waiting there
+     * could never end.
+     */
+    BLOCK,
+}
@@ -0,0 +1,241 @@
+package io.getunleash.event;
+
+import io.getunleash.lang.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, lock-free event pipeline used by {@link EventDispatcher} instead of submitting one
+ * executor task per event. Any number of threads may publish; a single dedicated daemon thread
+ * drains the buffer in batches and hands the events to the subscriber.
+ *
+ * <p>The slot/sequence layout follows Dmitry Vyukov's bounded queue, so publishing never takes a
+ * lock and never allocates beyond the event itself. When the buffer is full the configured {@link
+ * EventOverflowPolicy} decides whether to evict, discard or wait, and every event lost that way is
+ * counted in {@link #getDroppedEvents()}.
+ */
+public class EventRingBuffer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventRingBuffer.class);
+
+    static final int DRAIN_BATCH_SIZE = 256;
+    /** Largest capacity that still rounds up to a power of two within an int. */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final UnleashSubscriber subscriber;
+    private final EventOverflowPolicy overflowPolicy;
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<UnleashEvent> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder deliveredEvents = new LongAdder();
+
+    @Nullable private volatile Thread consumer;
+    private volatile boolean consumerParked;
+    private volatile boolean running = true;
+
+    public EventRingBuffer(
+            UnleashSubscriber subscriber, int capacity, EventOverflowPolicy overflowPolicy) {
+        checkCapacity(capacity);
+        this.subscriber = subscriber;
+        this.overflowPolicy = overflowPolicy;
+        this.capacity = roundUpToPowerOfTwo(capacity);
+        this.mask = this.capacity - 1;
+        this.slots = new AtomicReferenceArray<>(this.capacity);
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Queues an event for asynchronous delivery. Never blocks unless the overflow policy is {@link
+     * EventOverflowPolicy#BLOCK} and the buffer is full.
+     */
+    public void publish(UnleashEvent event) {
+        if (!running) {
+            droppedEvents.increment();
+            return;
+        }
+        ensureConsumerStarted();
+        if (!offer(event)) {
+            handleOverflow(event);
+        }
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private void handleOverflow(UnleashEvent event) {
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                droppedEvents.increment();
+                break;
+            case DROP_OLDEST:
+                while (!offer(event)) {
+                    if (poll() != null) {
+                        droppedEvents.increment();
+                    }
+                }
+                break;
+            case BLOCK:
+                if (Thread.currentThread() == consumer) {
+                    // A subscriber publishing from the consumer thread would wait on itself.
+                    droppedEvents.increment();
+                    return;
+                }
+                while (!offer(event)) {
+                    if (!running) {
+                        droppedEvents.increment();
+                        return;
+                    }
+                    LockSupport.unpark(consumer);
+                    LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+                }
+                break;
+        }
+    }
+
+    boolean offer(UnleashEvent event) {
+        long position = producerIndex.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (producerIndex.compareAndSet(position, position + 1)) {
+                    slots.set(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = producerIndex.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = producerIndex.get();
+            }
+        }
+    }
+
+    @Nullable
+    UnleashEvent poll() {
+        long position = consumerIndex.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (consumerIndex.compareAndSet(position, position + 1)) {
+                    UnleashEvent event = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + capacity);
+                    return event;
+                }
+                position = consumerIndex.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = consumerIndex.get();
+            }
+        }
+    }
+
+    private void ensureConsumerStarted() {
+        if (consumer == null) {
+            synchronized (this) {
+                if (consumer == null) {
+                    Thread thread = new Thread(this::drainLoop, "unleash-event-dispatcher");
+                    thread.setDaemon(true);
+                    thread.start();
+                    consumer = thread;
+                }
+            }
+        }
+    }
+
+    private void drainLoop() {
+        while (running || size() > 0) {
+            int drained = drainBatch();
+            if (drained == 0) {
+                consumerParked = true;
+                if (running && size() == 0) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerParked = false;
+            }
+        }
+    }
+
+    private int drainBatch() {
+        int drained = 0;
+        UnleashEvent event;
+        while (drained < DRAIN_BATCH_SIZE && (event = poll()) != null) {
+            deliver(event);
+            drained++;
+        }
+        return drained;
+    }
+
+    private void deliver(UnleashEvent event) {
+        try {
+            subscriber.on(event);
+            event.publishTo(subscriber);
+            deliveredEvents.increment();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Subscriber failed to handle {}", event, e);
+        }
+    }
+
+    /** Stops accepting events. Events already queued are still delivered. */
+    public void shutdown() {
+        running = false;
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    public int size() {
+        return (int) Math.max(0, producerIndex.get() - consumerIndex.get());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public EventOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    public long getDeliveredEvents() {
+        return deliveredEvents.sum();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the capacity is below 2 or above {@link #MAX_CAPACITY}
+     */
+    public static void checkCapacity(int capacity) {
+        if (capacity < 2 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Event buffer capacity must be between 2 and " + MAX_CAPACITY);
+        }
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        int highestBit = Integer.highestOneBit(value);
+        return highestBit == value ? value : highestBit << 1;
+    }
+}
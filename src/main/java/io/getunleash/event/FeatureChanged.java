@@ -0,0 +1,66 @@
+package io.getunleash.event;
+
+import io.getunleash.lang.Nullable;
+
+/**
+ * Published once per toggle that was added, removed or modified by a new feature state. Use {@link
+ * #getHash()} to tell whether a cached derivation of the toggle is still current.
+ */
+public class FeatureChanged implements UnleashEvent {
+
+    public enum ChangeType {
+        ADDED,
+        REMOVED,
+        MODIFIED
+    }
+
+    private final String toggleName;
+    private final ChangeType changeType;
+    @Nullable private final Long previousHash;
+    @Nullable private final Long hash;
+
+    public FeatureChanged(
+            String toggleName,
+            ChangeType changeType,
+            @Nullable Long previousHash,
+            @Nullable Long hash) {
+        this.toggleName = toggleName;
+        this.changeType = changeType;
+        this.previousHash = previousHash;
+        this.hash = hash;
+    }
+
+    public String getToggleName() {
+        return toggleName;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * @return content hash of the toggle before the change, null if it was added
+     */
+    @Nullable
+    public Long getPreviousHash() {
+        return previousHash;
+    }
+
+    /**
+     * @return content hash of the toggle after the change, null if it was removed
+     */
+    @Nullable
+    public Long getHash() {
+        return hash;
+    }
+
+    @Override
+    public void publishTo(UnleashSubscriber unleashSubscriber) {
+        unleashSubscriber.featureChanged(this);
+    }
+
+    @Override
+    public String toString() {
+        return "FeatureChanged: " + toggleName + " " + changeType;
+    }
+}
@@ -0,0 +1,52 @@
+package io.getunleash.event;
+
+import io.getunleash.metric.ClientMetrics;
+import io.getunleash.metric.ClientRegistration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Works out which events a subscriber consumes by checking which {@link UnleashSubscriber}
+ * callbacks it overrides. Event types without a dedicated callback are always considered
+ * interesting, as is everything when the catch-all {@link UnleashSubscriber#on(UnleashEvent)} is
+ * overridden.
+ */
+final class SubscriberInterest {
+
+    private static final Map<Class<? extends UnleashEvent>, String> CALLBACKS =
+            new LinkedHashMap<>();
+
+    static {
+        CALLBACKS.put(ToggleEvaluated.class, "toggleEvaluated");
+        CALLBACKS.put(ImpressionEvent.class, "impression");
+        CALLBACKS.put(ClientFeaturesResponse.class, "togglesFetched");
+        CALLBACKS.put(FeatureChanged.class, "featureChanged");
+        CALLBACKS.put(UnleashReady.class, "onReady");
+        CALLBACKS.put(ClientMetrics.class, "clientMetrics");
+        CALLBACKS.put(ClientRegistration.class, "clientRegistered");
+    }
+
+    private SubscriberInterest() {}
+
+    static boolean detect(UnleashSubscriber subscriber, Class<? extends UnleashEvent> eventType) {
+        if (overrides(subscriber, "on", UnleashEvent.class)) {
+            return true;
+        }
+        for (Map.Entry<Class<? extends UnleashEvent>, String> callback : CALLBACKS.entrySet()) {
+            if (callback.getKey().isAssignableFrom(eventType)) {
+                return overrides(subscriber, callback.getValue(), callback.getKey());
+            }
+        }
+        return true;
+    }
+
+    private static boolean overrides(
+            UnleashSubscriber subscriber, String methodName, Class<?> parameterType) {
+        try {
+            return subscriber.getClass().getMethod(methodName, parameterType).getDeclaringClass()
+                    != UnleashSubscriber.class;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return true;
+        }
+    }
+}
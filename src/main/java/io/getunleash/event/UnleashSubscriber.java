@@ -31,4 +31,19 @@ public interface UnleashSubscriber {
     default void featuresBackupRestored(FeatureSet featureCollection) {}
 
     default void impression(ImpressionEvent impressionEvent) {}
+
+    default void featureChanged(FeatureChanged featureChanged) {}
+
+    /**
+     * Whether this subscriber consumes events of the given type. The SDK asks once per event type
+     * and skips creating and dispatching events nobody listens to, which keeps per-evaluation
+     * events such as {@link ToggleEvaluated} off the hot path. By default this is detected from the
+     * callbacks the subscriber overrides; override it to declare interest explicitly.
+     *
+     * @param eventType the type of event about to be dispatched
+     * @return true if events of this type should be delivered to this subscriber
+     */
+    default boolean isInterestedIn(Class<? extends UnleashEvent> eventType) {
+        return SubscriberInterest.detect(this, eventType);
+    }
 }
@@ -11,12 +11,15 @@ import io.getunleash.util.InstantSerializer;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashURLs;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
 public class DefaultHttpMetricsSender implements MetricSender {
 
@@ -84,6 +87,9 @@ public class DefaultHttpMetricsSender implements MetricSender {
             connection.setRequestMethod("POST");
             connection.setRequestProperty("Accept", "application/json");
             connection.setRequestProperty("Content-Type", "application/json");
+            if (unleashConfig.isSendMetricsCompression()) {
+                connection.setRequestProperty("Content-Encoding", "gzip");
+            }
             connection.setRequestProperty(
                     UNLEASH_INTERVAL, this.unleashConfig.getSendMetricsIntervalMillis());
             UnleashConfig.setRequestProperties(connection, this.unleashConfig);
@@ -91,10 +97,13 @@ public class DefaultHttpMetricsSender implements MetricSender {
             connection.setDoInput(true);
             connection.setDoOutput(true);
 
-            OutputStreamWriter wr = new OutputStreamWriter(connection.getOutputStream());
-            gson.toJson(o, wr);
-            wr.flush();
-            wr.close();
+            OutputStream body = connection.getOutputStream();
+            if (unleashConfig.isSendMetricsCompression()) {
+                body = new GZIPOutputStream(body);
+            }
+            try (OutputStreamWriter wr = new OutputStreamWriter(body, StandardCharsets.UTF_8)) {
+                gson.toJson(o, wr);
+            }
 
             connection.connect();
 
@@ -0,0 +1,154 @@
+package io.getunleash.metric;
+
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import io.getunleash.UnleashException;
+import io.getunleash.event.EventDispatcher;
+import io.getunleash.util.AtomicLongSerializer;
+import io.getunleash.util.DateTimeSerializer;
+import io.getunleash.util.InstantSerializer;
+import io.getunleash.util.JavaHttpClientConfigurer;
+import io.getunleash.util.UnleashConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sends registrations and metrics with {@link HttpClient}, reusing its pooled connections. By
+ * default it shares its client with a {@link io.getunleash.repository.JavaHttpFeatureFetcher}
+ * created from the same config.
+ */
+public class JavaHttpMetricsSender implements MetricSender {
+    private final UnleashConfig config;
+    private final EventDispatcher eventDispatcher;
+    private final HttpClient client;
+    private final Gson gson;
+    private final URI clientRegistrationUri;
+    private final URI clientMetricsUri;
+
+    public JavaHttpMetricsSender(UnleashConfig config) {
+        this(config, JavaHttpClientConfigurer.sharedClient(config));
+    }
+
+    public JavaHttpMetricsSender(UnleashConfig config, HttpClient client) {
+        this.config = config;
+        this.client = client;
+        this.eventDispatcher = new EventDispatcher(config);
+        this.clientMetricsUri = toUri(config.getUnleashURLs().getClientMetricsURL());
+        this.clientRegistrationUri = toUri(config.getUnleashURLs().getClientRegisterURL());
+
+        this.gson =
+                new GsonBuilder()
+                        .registerTypeAdapter(LocalDateTime.class, new DateTimeSerializer())
+                        .registerTypeAdapter(Instant.class, new InstantSerializer())
+                        .registerTypeAdapter(AtomicLong.class, new AtomicLongSerializer())
+                        .create();
+    }
+
+    private static URI toUri(URL url) {
+        try {
+            return url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(url + " is not a valid URI", e);
+        }
+    }
+
+    @Override
+    public int registerClient(ClientRegistration registration) {
+        if (!config.isDisableMetrics()) {
+            try {
+                int statusCode = post(clientRegistrationUri, registration);
+                eventDispatcher.dispatch(registration);
+                return statusCode;
+            } catch (UnleashException ex) {
+                eventDispatcher.dispatch(ex);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int sendMetrics(ClientMetrics metrics) {
+        return sendMetricsAsync(metrics).join();
+    }
+
+    /** Posts the metrics without blocking the calling thread. */
+    @Override
+    public CompletableFuture<Integer> sendMetricsAsync(ClientMetrics metrics) {
+        if (config.isDisableMetrics() || metrics.getBucket() == null) {
+            return CompletableFuture.completedFuture(-1);
+        }
+        return postAsync(clientMetricsUri, metrics)
+                .handle(
+                        (statusCode, error) -> {
+                            if (error != null) {
+                                eventDispatcher.dispatch(toUnleashException(error));
+                                return -1;
+                            }
+                            eventDispatcher.dispatch(metrics);
+                            return statusCode;
+                        });
+    }
+
+    private int post(URI uri, Object o) throws UnleashException {
+        try {
+            return postAsync(uri, o).join();
+        } catch (CompletionException e) {
+            throw toUnleashException(e);
+        }
+    }
+
+    private CompletableFuture<Integer> postAsync(URI uri, Object o) {
+        HttpRequest.Builder request =
+                HttpRequest.newBuilder(uri)
+                        .timeout(config.getSendMetricsReadTimeout())
+                        .header("Accept", "application/json")
+                        .header("Content-Type", "application/json")
+                        .header(UNLEASH_INTERVAL, config.getSendMetricsIntervalMillis());
+        try {
+            if (config.isSendMetricsCompression()) {
+                request.header("Content-Encoding", "gzip");
+            }
+            UnleashConfig.setRequestProperties(request, config);
+            request.POST(HttpRequest.BodyPublishers.ofByteArray(serialize(o)));
+        } catch (IOException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private static UnleashException toUnleashException(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof UnleashException) {
+            return (UnleashException) cause;
+        }
+        return new UnleashException("Could not post to Unleash API", cause);
+    }
+
+    private byte[] serialize(Object o) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (OutputStreamWriter wr =
+                new OutputStreamWriter(
+                        config.isSendMetricsCompression() ? new GZIPOutputStream(body) : body,
+                        StandardCharsets.UTF_8)) {
+            gson.toJson(o, wr);
+        }
+        return body.toByteArray();
+    }
+}
@@ -1,7 +1,21 @@
 package io.getunleash.metric;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MetricSender {
     int registerClient(ClientRegistration registration);
 
     int sendMetrics(ClientMetrics metrics);
+
+    /**
+     * Sends metrics without holding the calling thread while waiting on the network. Like {@link
+     * #sendMetrics(ClientMetrics)}, the future completes with the status code, or -1 if nothing was
+     * sent.
+     *
+     * <p>The default calls {@link #sendMetrics(ClientMetrics)} on the calling thread, for senders
+     * doing blocking I/O.
+     */
+    default CompletableFuture<Integer> sendMetricsAsync(ClientMetrics metrics) {
+        return CompletableFuture.completedFuture(sendMetrics(metrics));
+    }
 }
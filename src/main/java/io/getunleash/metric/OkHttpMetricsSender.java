@@ -20,6 +20,9 @@ import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
 
 public class OkHttpMetricsSender implements MetricSender {
     private final UnleashConfig config;
@@ -90,16 +93,41 @@ public class OkHttpMetricsSender implements MetricSender {
 
     private int post(HttpUrl url, Object o) {
         RequestBody body = RequestBody.create(gson.toJson(o), JSON);
-        Request request =
+        Request.Builder builder =
                 new Request.Builder()
                         .url(url)
-                        .post(body)
-                        .addHeader(UNLEASH_INTERVAL, config.getSendMetricsIntervalMillis())
-                        .build();
+                        .addHeader(UNLEASH_INTERVAL, config.getSendMetricsIntervalMillis());
+        if (config.isSendMetricsCompression()) {
+            builder.post(gzip(body)).addHeader("Content-Encoding", "gzip");
+        } else {
+            builder.post(body);
+        }
+        Request request = builder.build();
         try (Response response = this.client.newCall(request).execute()) {
             return response.code();
         } catch (IOException ioEx) {
             throw new UnleashException("Could not post to Unleash API", ioEx);
         }
     }
+
+    private static RequestBody gzip(RequestBody body) {
+        return new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return body.contentType();
+            }
+
+            @Override
+            public long contentLength() {
+                return -1;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                try (BufferedSink gzipSink = Okio.buffer(new GzipSink(sink))) {
+                    body.writeTo(gzipSink);
+                }
+            }
+        };
+    }
 }
@@ -2,12 +2,16 @@ package io.getunleash.metric;
 
 import io.getunleash.engine.MetricsBucket;
 import io.getunleash.engine.UnleashEngine;
+import io.getunleash.lang.Nullable;
+import io.getunleash.repository.ConstantToggles;
 import io.getunleash.util.Throttler;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,15 +24,28 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
     // synchronization is handled in the engine itself
     private final UnleashEngine engine;
 
+    // evaluations answered without the engine, merged into the engine's bucket before sending
+    @Nullable private final ConstantToggles constantToggles;
+
     private final Throttler throttler;
+    private final AtomicBoolean sendInFlight = new AtomicBoolean();
 
     public UnleashMetricServiceImpl(
             UnleashConfig unleashConfig, UnleashScheduledExecutor executor, UnleashEngine engine) {
+        this(unleashConfig, executor, engine, null);
+    }
+
+    public UnleashMetricServiceImpl(
+            UnleashConfig unleashConfig,
+            UnleashScheduledExecutor executor,
+            UnleashEngine engine,
+            @Nullable ConstantToggles constantToggles) {
         this(
                 unleashConfig,
                 unleashConfig.getMetricSenderFactory().apply(unleashConfig),
                 executor,
-                engine);
+                engine,
+                constantToggles);
     }
 
     public UnleashMetricServiceImpl(
@@ -36,6 +53,15 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
             MetricSender metricSender,
             UnleashScheduledExecutor executor,
             UnleashEngine engine) {
+        this(unleashConfig, metricSender, executor, engine, null);
+    }
+
+    public UnleashMetricServiceImpl(
+            UnleashConfig unleashConfig,
+            MetricSender metricSender,
+            UnleashScheduledExecutor executor,
+            UnleashEngine engine,
+            @Nullable ConstantToggles constantToggles) {
         this.started = LocalDateTime.now(ZoneId.of("UTC"));
         this.unleashConfig = unleashConfig;
         this.metricSender = metricSender;
@@ -45,6 +71,7 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
                         300,
                         unleashConfig.getUnleashURLs().getClientMetricsURL());
         this.engine = engine;
+        this.constantToggles = constantToggles;
         long metricsInterval = unleashConfig.getSendMetricsInterval();
 
         executor.setInterval(sendMetrics(), metricsInterval, metricsInterval);
@@ -59,24 +86,54 @@ public class UnleashMetricServiceImpl implements UnleashMetricService {
 
     private Runnable sendMetrics() {
         return () -> {
+            if (!sendInFlight.compareAndSet(false, true)) {
+                // The previous post hasn't finished. Metrics keep counting in the engine and go
+                // out with the next one.
+                return;
+            }
             if (throttler.performAction()) {
-                MetricsBucket bucket = this.engine.getMetrics();
+                CompletableFuture<Integer> sent;
+                try {
+                    MetricsBucket bucket = this.engine.getMetrics();
+                    if (constantToggles != null) {
+                        bucket = constantToggles.mergeInto(bucket);
+                    }
 
-                ClientMetrics metrics = new ClientMetrics(unleashConfig, bucket);
-                int statusCode = metricSender.sendMetrics(metrics);
-                if (statusCode >= 200 && statusCode < 400) {
-                    throttler.decrementFailureCountAndResetSkips();
+                    ClientMetrics metrics = new ClientMetrics(unleashConfig, bucket);
+                    // Synchronous senders run the whole post here and may throw.
+                    sent = metricSender.sendMetricsAsync(metrics);
+                } catch (RuntimeException e) {
+                    sendInFlight.set(false);
+                    throw e;
                 }
-                if (statusCode >= 400) {
-                    throttler.handleHttpErrorCodes(statusCode);
-                }
-
+                sent.whenComplete(
+                        (statusCode, error) -> {
+                            try {
+                                if (error != null) {
+                                    LOGGER.warn("Could not send metrics", error);
+                                } else {
+                                    handleStatusCode(statusCode);
+                                }
+                            } finally {
+                                sendInFlight.set(false);
+                            }
+                        });
             } else {
                 throttler.skipped();
+                sendInFlight.set(false);
             }
         };
     }
 
+    private void handleStatusCode(int statusCode) {
+        if (statusCode >= 200 && statusCode < 400) {
+            throttler.decrementFailureCountAndResetSkips();
+        }
+        if (statusCode >= 400) {
+            throttler.handleHttpErrorCodes(statusCode);
+        }
+    }
+
     protected int getSkips() {
         return this.throttler.getSkips();
     }
@@ -0,0 +1,222 @@
+package io.getunleash.repository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes a file on a background thread, keeping only the latest content while a write is pending.
+ * Each write goes to a temporary file next to the target, is forced to disk and then renamed over
+ * the target, so a crash leaves either the previous or the new content, never a truncated file.
+ */
+final class BackupFileWriter {
+    private static final Logger LOG = LoggerFactory.getLogger(BackupFileWriter.class);
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Path target;
+    private final long intervalNanos;
+    private final Encoder encoder;
+    private final Consumer<String> onWritten;
+    private final BiConsumer<String, IOException> onFailure;
+    private final AtomicReference<String> pending = new AtomicReference<>();
+    private final ScheduledThreadPoolExecutor executor;
+
+    // Guarded by this.
+    private boolean scheduled;
+    // Only used on the writer thread.
+    private long lastWriteNanos;
+    private boolean written;
+
+    BackupFileWriter(
+            Path target,
+            Duration interval,
+            Consumer<String> onWritten,
+            BiConsumer<String, IOException> onFailure) {
+        this(
+                target,
+                interval,
+                content -> content.getBytes(StandardCharsets.UTF_8),
+                onWritten,
+                onFailure);
+    }
+
+    /**
+     * @param interval minimum time between two writes
+     * @param encoder turns the content into the bytes to write, called on the writer thread
+     * @param onWritten called on the writer thread with the content of every completed write
+     * @param onFailure called on the writer thread when a write fails
+     */
+    BackupFileWriter(
+            Path target,
+            Duration interval,
+            Encoder encoder,
+            Consumer<String> onWritten,
+            BiConsumer<String, IOException> onFailure) {
+        this.target = target;
+        this.intervalNanos = interval.toNanos();
+        this.encoder = encoder;
+        this.onWritten = onWritten;
+        this.onFailure = onFailure;
+        this.executor =
+                new ScheduledThreadPoolExecutor(
+                        1,
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "unleash-backup-writer");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        // The thread only lives while there's something to write.
+        this.executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /** Schedules a write of {@code content}, replacing any content not written yet. */
+    void submit(String content) {
+        pending.set(content);
+        synchronized (this) {
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    /**
+     * Writes pending content right away, ignoring the interval, and waits until it's on disk. Gives
+     * up waiting after 10 seconds, so a hung file system can't block shutdown.
+     */
+    void flush() {
+        flush(FLUSH_TIMEOUT);
+    }
+
+    void flush(Duration timeout) {
+        try {
+            executor.submit(this::writePending).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.warn("Could not flush backup to {}", target, e.getCause());
+        } catch (TimeoutException e) {
+            LOG.warn("Backup to {} was not written within {}", target, timeout);
+        }
+    }
+
+    private void drain() {
+        long wait = lastWriteNanos + intervalNanos - System.nanoTime();
+        if (written && wait > 0) {
+            executor.schedule(this::drain, wait, TimeUnit.NANOSECONDS);
+            return;
+        }
+        synchronized (this) {
+            scheduled = false;
+        }
+        writePending();
+    }
+
+    private void writePending() {
+        String content = pending.getAndSet(null);
+        if (content == null) {
+            return;
+        }
+        try {
+            writeAtomically(target, encoder.encode(content));
+            onWritten.accept(content);
+        } catch (IOException e) {
+            onFailure.accept(content, e);
+        } finally {
+            lastWriteNanos = System.nanoTime();
+            written = true;
+        }
+    }
+
+    static void writeAtomically(Path target, byte[] content) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = createTempFile(directory, target);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = ByteBuffer.wrap(content);
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(
+                        temp,
+                        target,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            forceDirectory(directory);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Unlike {@link Files#createTempFile}, which is owner-only on POSIX, the file gets the target's
+     * permissions, or the usual umask-based ones for a new backup, so they survive the rename.
+     */
+    private static Path createTempFile(Path directory, Path target) throws IOException {
+        String prefix = target.getFileName().toString() + ".";
+        Path temp;
+        while (true) {
+            temp =
+                    directory.resolve(
+                            prefix
+                                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong())
+                                    + ".tmp");
+            try {
+                Files.createFile(temp);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // try another name
+            }
+        }
+        try {
+            if (Files.exists(target)) {
+                Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+            }
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX file system, the temporary file already has the default permissions.
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /** Makes the rename itself durable, where the platform allows syncing a directory. */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform (e.g. Windows), the rename is still atomic.
+        }
+    }
+
+    interface Encoder {
+        byte[] encode(String content) throws IOException;
+    }
+}
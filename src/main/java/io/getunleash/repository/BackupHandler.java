@@ -6,4 +6,7 @@ public interface BackupHandler {
     Optional<String> read();
 
     void write(String collection);
+
+    /** Waits until everything passed to {@link #write(String)} so far is persisted. */
+    default void flush() {}
 }
@@ -0,0 +1,314 @@
+package io.getunleash.repository;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.getunleash.engine.FeatureCount;
+import io.getunleash.engine.MetricsBucket;
+import io.getunleash.engine.WasmResponse;
+import io.getunleash.lang.Nullable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Java-side answers for toggles whose enabled state does not depend on the context: toggles that
+ * are disabled in the environment, and enabled toggles with no strategies or a single unconstrained
+ * 100% strategy. Toggles using impression data or dependencies are always left to the engine.
+ *
+ * <p>The lookup table is rebuilt from every new state and swapped in atomically. Evaluations
+ * answered here never reach the engine, so their yes/no counts are kept here and merged into the
+ * engine's metrics bucket before it is sent.
+ */
+public final class ConstantToggles {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConstantToggles.class);
+
+    // Shared between all lookups; callers only ever read these.
+    private static final WasmResponse<Boolean> ENABLED = new WasmResponse<>(false, true);
+    private static final WasmResponse<Boolean> DISABLED = new WasmResponse<>(false, false);
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    // Counters of toggles the current table no longer answers, kept until their last counts are
+    // merged. Guarded by this.
+    private List<Counter> retired = new ArrayList<>();
+    private volatile Table table = Table.EMPTY;
+    private Instant windowStart = Instant.now();
+
+    /** Rebuilds the table from client features the engine has just accepted. */
+    void update(@Nullable JsonObject clientFeatures) {
+        publish(prepare(clientFeatures));
+    }
+
+    /**
+     * Builds the table for a state without using it yet, so it can be published together with the
+     * engine taking the same state.
+     *
+     * @param clientFeatures the parsed state, or null if it couldn't be parsed, in which case all
+     *     toggles are left to the engine
+     */
+    Table prepare(@Nullable JsonObject clientFeatures) {
+        if (clientFeatures != null) {
+            try {
+                return build(clientFeatures);
+            } catch (IllegalStateException | UnsupportedOperationException e) {
+                LOGGER.warn(
+                        "Could not analyse feature toggles, evaluating all of them in the engine",
+                        e);
+            }
+        }
+        return Table.EMPTY;
+    }
+
+    /** Swaps in the table and retires the counters of toggles it no longer answers. */
+    synchronized void publish(Table next) {
+        this.table = next;
+        Iterator<Counter> it = counters.values().iterator();
+        while (it.hasNext()) {
+            Counter counter = it.next();
+            if (!next.constants.containsKey(counter.toggleName)) {
+                it.remove();
+                retired.add(counter);
+            }
+        }
+    }
+
+    /**
+     * @return the constant result for the toggle, or null if the engine has to evaluate it
+     */
+    @Nullable
+    WasmResponse<Boolean> isEnabled(String toggleName) {
+        Constant constant = this.table.constants.get(toggleName);
+        return constant == null ? null : constant.evaluate();
+    }
+
+    /**
+     * @return the toggle's entry in the current table, or null if the engine has to evaluate it
+     */
+    @Nullable
+    Constant get(String toggleName) {
+        return this.table.constants.get(toggleName);
+    }
+
+    /** Number of toggles currently answered without the engine. */
+    public int size() {
+        return this.table.constants.size();
+    }
+
+    /** Number of toggles whose counts are kept, including retired ones not yet merged. */
+    synchronized int countedToggles() {
+        return counters.size() + retired.size();
+    }
+
+    /**
+     * Adds the evaluations answered since the last call to the engine's bucket.
+     *
+     * @param engineBucket the bucket taken from the engine, may be null when it had nothing to
+     *     report
+     * @return the merged bucket, or null if neither side has anything to report
+     */
+    @Nullable
+    public synchronized MetricsBucket mergeInto(@Nullable MetricsBucket engineBucket) {
+        Instant start = this.windowStart;
+        Instant stop = Instant.now();
+        this.windowStart = stop;
+
+        List<Counter> draining = new ArrayList<>(counters.values());
+        draining.addAll(retired);
+        retired = new ArrayList<>();
+
+        Map<String, FeatureCount> toggles = null;
+        for (Counter counter : draining) {
+            long yes = counter.drainYes();
+            long no = counter.drainNo();
+            if (yes == 0 && no == 0) {
+                continue;
+            }
+            if (toggles == null) {
+                toggles =
+                        engineBucket == null
+                                ? new HashMap<>()
+                                : new HashMap<>(engineBucket.getToggles());
+            }
+            FeatureCount existing = toggles.get(counter.toggleName);
+            toggles.put(
+                    counter.toggleName,
+                    existing == null
+                            ? new FeatureCount(yes, no, new HashMap<>())
+                            : new FeatureCount(
+                                    existing.getYes() + yes,
+                                    existing.getNo() + no,
+                                    existing.getVariants()));
+        }
+        if (toggles == null) {
+            return engineBucket;
+        }
+        if (engineBucket == null) {
+            return new MetricsBucket(start, stop, toggles);
+        }
+        return new MetricsBucket(engineBucket.getStart(), engineBucket.getStop(), toggles);
+    }
+
+    private Table build(JsonObject clientFeatures) {
+        JsonElement features = clientFeatures.get("features");
+        if (features == null || !features.isJsonArray()) {
+            return Table.EMPTY;
+        }
+        Map<String, Constant> constants = new HashMap<>();
+        for (JsonElement element : features.getAsJsonArray()) {
+            if (!element.isJsonObject()) {
+                continue;
+            }
+            JsonObject feature = element.getAsJsonObject();
+            Boolean result = constantResult(feature);
+            if (result != null) {
+                String name = feature.get("name").getAsString();
+                constants.put(
+                        name, new Constant(result, counters.computeIfAbsent(name, Counter::new)));
+            }
+        }
+        return new Table(Collections.unmodifiableMap(constants));
+    }
+
+    @Nullable
+    private static Boolean constantResult(JsonObject feature) {
+        if (!feature.has("name")
+                || isTrue(feature.get("impressionData"))
+                || isNonEmptyArray(feature.get("dependencies"))) {
+            return null;
+        }
+        if (!isTrue(feature.get("enabled"))) {
+            return false;
+        }
+        JsonElement strategies = feature.get("strategies");
+        if (strategies == null || strategies.isJsonNull()) {
+            return true;
+        }
+        JsonArray strategyList = strategies.getAsJsonArray();
+        if (strategyList.size() == 0) {
+            return true;
+        }
+        if (strategyList.size() == 1 && isUnconditional(strategyList.get(0).getAsJsonObject())) {
+            return true;
+        }
+        return null;
+    }
+
+    private static boolean isUnconditional(JsonObject strategy) {
+        if (isNonEmptyArray(strategy.get("constraints"))
+                || isNonEmptyArray(strategy.get("segments"))) {
+            return false;
+        }
+        JsonElement name = strategy.get("name");
+        if (name == null || !name.isJsonPrimitive()) {
+            return false;
+        }
+        switch (name.getAsString()) {
+            case "default":
+                return true;
+            case "flexibleRollout":
+                JsonElement parameters = strategy.get("parameters");
+                if (parameters == null || !parameters.isJsonObject()) {
+                    return false;
+                }
+                JsonElement rollout = parameters.getAsJsonObject().get("rollout");
+                return rollout != null
+                        && rollout.isJsonPrimitive()
+                        && "100".equals(rollout.getAsString().trim())
+                        && isContextFreeStickiness(parameters.getAsJsonObject().get("stickiness"));
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * A 100% rollout sticky on a context field (e.g. {@code userId}) is off when that field is
+     * missing, so only stickiness that never needs the context counts.
+     */
+    private static boolean isContextFreeStickiness(@Nullable JsonElement stickiness) {
+        if (stickiness == null || stickiness.isJsonNull()) {
+            return true;
+        }
+        if (!stickiness.isJsonPrimitive()) {
+            return false;
+        }
+        String value = stickiness.getAsString().trim();
+        return value.isEmpty() || "default".equals(value) || "random".equals(value);
+    }
+
+    private static boolean isTrue(@Nullable JsonElement element) {
+        return element != null
+                && element.isJsonPrimitive()
+                && element.getAsJsonPrimitive().isBoolean()
+                && element.getAsBoolean();
+    }
+
+    private static boolean isNonEmptyArray(@Nullable JsonElement element) {
+        return element != null && element.isJsonArray() && element.getAsJsonArray().size() > 0;
+    }
+
+    static final class Table {
+        static final Table EMPTY = new Table(Collections.emptyMap());
+
+        final Map<String, Constant> constants;
+
+        Table(Map<String, Constant> constants) {
+            this.constants = constants;
+        }
+    }
+
+    /** The fixed result of one toggle under one state, counting every evaluation it answers. */
+    public static final class Constant {
+        private final boolean enabled;
+        private final Counter counter;
+
+        private Constant(boolean enabled, Counter counter) {
+            this.enabled = enabled;
+            this.counter = counter;
+        }
+
+        /** Counts an evaluation for the metrics and returns its result. */
+        public WasmResponse<Boolean> evaluate() {
+            counter.record(enabled);
+            return enabled ? ENABLED : DISABLED;
+        }
+    }
+
+    private static final class Counter {
+        private final String toggleName;
+        private final LongAdder yes = new LongAdder();
+        private final LongAdder no = new LongAdder();
+        private long reportedYes;
+        private long reportedNo;
+
+        Counter(String toggleName) {
+            this.toggleName = toggleName;
+        }
+
+        void record(boolean enabled) {
+            (enabled ? yes : no).increment();
+        }
+
+        // Only called from the synchronized mergeInto, so the reported totals need no locking.
+        long drainYes() {
+            long total = yes.sum();
+            long delta = total - reportedYes;
+            reportedYes = total;
+            return delta;
+        }
+
+        long drainNo() {
+            long total = no.sum();
+            long delta = total - reportedNo;
+            reportedNo = total;
+            return delta;
+        }
+    }
+}
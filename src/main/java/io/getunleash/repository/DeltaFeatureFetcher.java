@@ -0,0 +1,33 @@
+package io.getunleash.repository;
+
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.UnleashConfig;
+
+/**
+ * Polls {@code /client/delta} instead of {@code /client/features}. The revision id of the last
+ * delta is sent back as {@code If-None-Match}, so each response only carries the events since then,
+ * or a {@code hydration} when the server can't bridge the gap. The repository applies the events to
+ * its current state instead of replacing it.
+ */
+public class DeltaFeatureFetcher extends HttpFeatureFetcher {
+
+    public DeltaFeatureFetcher(UnleashConfig config) {
+        super(
+                config,
+                config.getUnleashURLs()
+                        .getFetchDeltaURL(config.getProjectName(), config.getNamePrefix()));
+    }
+
+    @Override
+    protected ClientFeaturesResponse toResponse(String body) {
+        return ClientFeaturesResponse.delta(body);
+    }
+
+    /**
+     * Drops the revision id, so the next fetch returns a {@code hydration} with the complete state.
+     * Used when a delta can't be applied.
+     */
+    public void requestHydration() {
+        resetEtag();
+    }
+}
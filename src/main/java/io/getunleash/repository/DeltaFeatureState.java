@@ -0,0 +1,183 @@
+package io.getunleash.repository;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.getunleash.lang.Nullable;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Full feature state rebuilt from delta events ({@code hydration}, {@code feature-updated}, {@code
+ * feature-removed}, {@code segment-updated}, {@code segment-removed}). The repository only ever
+ * sees complete {@code /client/features} documents, so backups, change tracking and the
+ * constant-toggle table keep working when updates arrive as deltas.
+ *
+ * <p>Not thread safe.
+ */
+final class DeltaFeatureState {
+    private final Map<String, JsonObject> features = new LinkedHashMap<>();
+    private final Map<String, JsonObject> segments = new LinkedHashMap<>();
+    private boolean hydrated;
+
+    /**
+     * Applies all events of a delta document.
+     *
+     * @return true if the state changed
+     * @throws JsonParseException if the document is not a delta
+     */
+    boolean apply(String delta) {
+        Applied applied = apply(JsonParser.parseString(delta).getAsJsonObject());
+        return applied.hydrated || !applied.touchedFeatures.isEmpty();
+    }
+
+    /**
+     * Applies all events of a parsed delta document.
+     *
+     * @throws JsonParseException if the document is not a delta
+     */
+    Applied apply(JsonObject delta) {
+        Applied applied = new Applied();
+        for (JsonElement element : events(delta)) {
+            applyEvent(element.getAsJsonObject(), applied);
+        }
+        return applied;
+    }
+
+    static boolean containsHydration(JsonObject delta) {
+        for (JsonElement element : events(delta)) {
+            if ("hydration".equals(element.getAsJsonObject().get("type").getAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static JsonArray events(JsonObject delta) {
+        JsonArray events = delta.getAsJsonArray("events");
+        if (events == null) {
+            throw new JsonParseException("Delta is missing its events");
+        }
+        return events;
+    }
+
+    private void applyEvent(JsonObject event, Applied applied) {
+        String type = event.get("type").getAsString();
+        switch (type) {
+            case "hydration":
+                features.clear();
+                segments.clear();
+                putAll(features, event.getAsJsonArray("features"), "name");
+                putAll(segments, event.getAsJsonArray("segments"), "id");
+                hydrated = true;
+                applied.hydrated = true;
+                applied.touchedFeatures.clear();
+                break;
+            case "feature-updated":
+                JsonObject feature = event.getAsJsonObject("feature");
+                String name = feature.get("name").getAsString();
+                features.put(name, feature);
+                applied.touchedFeatures.add(name);
+                break;
+            case "feature-removed":
+                String removed = event.get("featureName").getAsString();
+                if (features.remove(removed) != null) {
+                    applied.touchedFeatures.add(removed);
+                }
+                break;
+            case "segment-updated":
+                JsonObject segment = event.getAsJsonObject("segment");
+                String segmentId = segment.get("id").getAsString();
+                segments.put(segmentId, segment);
+                touchFeaturesUsing(segmentId, applied);
+                break;
+            case "segment-removed":
+                String removedSegment = event.get("segmentId").getAsString();
+                if (segments.remove(removedSegment) != null) {
+                    touchFeaturesUsing(removedSegment, applied);
+                }
+                break;
+            default:
+                // Unknown event types are skipped so newer servers don't break older clients.
+                break;
+        }
+    }
+
+    private void touchFeaturesUsing(String segmentId, Applied applied) {
+        for (Map.Entry<String, JsonObject> entry : features.entrySet()) {
+            JsonElement strategies = entry.getValue().get("strategies");
+            if (strategies == null || !strategies.isJsonArray()) {
+                continue;
+            }
+            for (JsonElement strategy : strategies.getAsJsonArray()) {
+                JsonElement ids =
+                        strategy.isJsonObject() ? strategy.getAsJsonObject().get("segments") : null;
+                if (ids != null
+                        && ids.isJsonArray()
+                        && containsId(ids.getAsJsonArray(), segmentId)) {
+                    applied.touchedFeatures.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+    }
+
+    private static boolean containsId(JsonArray ids, String segmentId) {
+        for (JsonElement id : ids) {
+            if (segmentId.equals(id.getAsString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void putAll(
+            Map<String, JsonObject> target, @Nullable JsonArray items, String key) {
+        if (items == null) {
+            return;
+        }
+        for (JsonElement item : items) {
+            JsonObject object = item.getAsJsonObject();
+            target.put(object.get(key).getAsString(), object);
+        }
+    }
+
+    /** Whether a {@code hydration} event has been applied, i.e. the state is complete. */
+    boolean isHydrated() {
+        return hydrated;
+    }
+
+    /**
+     * The state as a {@code /client/features} document. Feature and segment objects are shared with
+     * this state, not copied.
+     */
+    JsonObject toJson() {
+        JsonArray featureArray = new JsonArray(features.size());
+        features.values().forEach(featureArray::add);
+        JsonArray segmentArray = new JsonArray(segments.size());
+        segments.values().forEach(segmentArray::add);
+        JsonObject state = new JsonObject();
+        state.addProperty("version", 2);
+        state.add("features", featureArray);
+        state.add("segments", segmentArray);
+        return state;
+    }
+
+    /** Serializes the state in the {@code /client/features} format. */
+    String toClientFeatures() {
+        return toJson().toString();
+    }
+
+    /** What a delta changed. */
+    static final class Applied {
+        /** Whether the delta contained a hydration, which replaces the whole state. */
+        boolean hydrated;
+
+        /** Features changed after the last hydration, including those using changed segments. */
+        final Set<String> touchedFeatures = new HashSet<>();
+    }
+}
@@ -8,8 +8,11 @@ import io.getunleash.event.UnleashEvent;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.util.UnleashConfig;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -18,21 +21,45 @@ public class FeatureBackupHandlerFile implements BackupHandler {
 
     private final String backupFile;
     private final EventDispatcher eventDispatcher;
+    private final BackupFileWriter writer;
+    // generation of the last snapshot read or written, so it keeps increasing across restarts
+    private final AtomicLong snapshotGeneration = new AtomicLong();
 
     public FeatureBackupHandlerFile(UnleashConfig config) {
         this.backupFile = config.getBackupFile();
         this.eventDispatcher = new EventDispatcher(config);
+        BackupFileWriter.Encoder encoder =
+                config.isBackupSnapshotFormat()
+                        ? features ->
+                                FeatureSnapshot.encode(
+                                        features, snapshotGeneration.incrementAndGet())
+                        : features -> features.getBytes(StandardCharsets.UTF_8);
+        this.writer =
+                new BackupFileWriter(
+                        Paths.get(backupFile),
+                        config.getBackupWriteInterval(),
+                        encoder,
+                        features -> eventDispatcher.dispatch(new FeatureBackupWritten(features)),
+                        (features, e) ->
+                                eventDispatcher.dispatch(
+                                        new UnleashException(
+                                                "Unleash was unable to backup feature toggles to file: "
+                                                        + backupFile,
+                                                e)));
     }
 
     @Override
     public Optional<String> read() {
         LOG.info("Unleash will try to load feature toggle states from temporary backup");
-        try (BufferedReader reader = new BufferedReader(new FileReader(backupFile))) {
-            String clientFeatures = reader.lines().collect(Collectors.joining("\n"));
+        try {
+            // Either format is read, whichever one the backup was written in.
+            FeatureSnapshot snapshot = FeatureSnapshot.read(Paths.get(backupFile));
+            snapshotGeneration.accumulateAndGet(snapshot.getStateGeneration(), Math::max);
+            String clientFeatures = snapshot.getClientFeatures();
 
             eventDispatcher.dispatch(new FeatureBackupRead(clientFeatures));
             return Optional.of(clientFeatures);
-        } catch (FileNotFoundException e) {
+        } catch (FileNotFoundException | NoSuchFileException e) {
             LOG.info(
                     " Unleash could not find the backup-file '"
                             + backupFile
@@ -46,17 +73,18 @@ public class FeatureBackupHandlerFile implements BackupHandler {
         }
     }
 
+    /**
+     * Queues the features for writing on a background thread. Updates arriving before the write
+     * starts replace each other, so only the latest state is written.
+     */
     @Override
     public void write(String features) {
-        try (FileWriter writer = new FileWriter(backupFile)) {
-            writer.write(features);
-            eventDispatcher.dispatch(new FeatureBackupWritten(features));
-        } catch (IOException e) {
-            eventDispatcher.dispatch(
-                    new UnleashException(
-                            "Unleash was unable to backup feature toggles to file: " + backupFile,
-                            e));
-        }
+        writer.submit(features);
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
     }
 
     private static class FeatureBackupRead implements UnleashEvent {
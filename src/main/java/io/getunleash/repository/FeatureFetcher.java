@@ -2,7 +2,26 @@ package io.getunleash.repository;
 
 import io.getunleash.UnleashException;
 import io.getunleash.event.ClientFeaturesResponse;
+import java.util.concurrent.CompletableFuture;
 
 public interface FeatureFetcher {
     ClientFeaturesResponse fetchFeatures() throws UnleashException;
+
+    /**
+     * Fetches without holding the calling thread while waiting on the network. The repository
+     * always fetches through this method, so the scheduler thread is free as soon as the request is
+     * sent.
+     *
+     * <p>The default calls {@link #fetchFeatures()} on the calling thread, for fetchers doing
+     * blocking I/O.
+     *
+     * @return the response, or a future completed exceptionally with an {@link UnleashException}
+     */
+    default CompletableFuture<ClientFeaturesResponse> fetchFeaturesAsync() {
+        try {
+            return CompletableFuture.completedFuture(fetchFeatures());
+        } catch (UnleashException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
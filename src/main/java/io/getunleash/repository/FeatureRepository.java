@@ -1,9 +1,15 @@
 package io.getunleash.repository;
 
 import io.getunleash.FeatureDefinition;
+import io.getunleash.ToggleChangeListener;
 import io.getunleash.UnleashContext;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.engine.WasmResponse;
+import io.getunleash.lang.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public interface FeatureRepository {
@@ -13,4 +19,60 @@ public interface FeatureRepository {
     WasmResponse<VariantDef> getVariant(String toggleName, UnleashContext context);
 
     Stream<FeatureDefinition> listKnownToggles();
+
+    /**
+     * @return the toggle's fixed result under the current state, or null if it depends on the
+     *     context. Valid until {@link #getStateGeneration()} changes.
+     */
+    @Nullable
+    default ConstantToggles.Constant getConstant(String toggleName) {
+        return null;
+    }
+
+    /**
+     * @return the names of all known toggles. Implementations may return the same list for as long
+     *     as the state doesn't change, so it must not be modified.
+     */
+    default List<String> getToggleNames() {
+        return listKnownToggles().map(FeatureDefinition::getName).collect(Collectors.toList());
+    }
+
+    default Optional<FeatureDefinition> getFeatureDefinition(String toggleName) {
+        return listKnownToggles().filter(toggle -> toggle.getName().equals(toggleName)).findFirst();
+    }
+
+    default List<FeatureDefinition> getFeatureDefinitionsByProject(String project) {
+        return listKnownToggles()
+                .filter(toggle -> project.equals(toggle.getProject()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return a counter that increases every time a new feature state is taken, 0 before the first
+     */
+    default long getStateGeneration() {
+        return 0;
+    }
+
+    /** Repositories that don't track toggle changes ignore the listener. */
+    default void watch(String toggleName, ToggleChangeListener listener) {}
+
+    default void unwatch(String toggleName, ToggleChangeListener listener) {}
+
+    default List<FeatureDefinition> getFeatureDefinitionsByType(String type) {
+        return listKnownToggles()
+                .filter(toggle -> toggle.getType().filter(type::equals).isPresent())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return a future that completes once there is a state to evaluate toggles against, taken from
+     *     the backup, the bootstrap or the first successful fetch
+     */
+    default CompletableFuture<Void> readyFuture() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /** Releases connections or threads held outside the scheduled executor. */
+    default void shutdown() {}
 }
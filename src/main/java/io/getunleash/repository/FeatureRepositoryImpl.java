@@ -1,6 +1,10 @@
 package io.getunleash.repository;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import io.getunleash.FeatureDefinition;
+import io.getunleash.ToggleChangeListener;
 import io.getunleash.UnleashContext;
 import io.getunleash.UnleashException;
 import io.getunleash.engine.UnleashEngine;
@@ -9,11 +13,21 @@ import io.getunleash.engine.WasmResponse;
 import io.getunleash.engine.YggdrasilInvalidInputException;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.FeatureChanged;
 import io.getunleash.event.UnleashReady;
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.ContentHash;
 import io.getunleash.util.Throttler;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -28,7 +42,25 @@ public class FeatureRepositoryImpl implements FeatureRepository {
     private final EventDispatcher eventDispatcher;
     private final UnleashEngine engine;
     private final Throttler throttler;
+    private final ConstantToggles constantToggles = new ConstantToggles();
+    private volatile ToggleCatalogue catalogue = ToggleCatalogue.EMPTY;
+    private Map<String, Long> toggleHashes = ToggleHashes.EMPTY;
+    private final ToggleWatchRegistry watchRegistry = new ToggleWatchRegistry();
+    private final AtomicLong stateGeneration = new AtomicLong();
+    // content hash of the last state the engine accepted, valid once a state has been taken
+    private long stateHash;
     private boolean ready;
+    private final CompletableFuture<Void> readyFuture = new CompletableFuture<>();
+    private final Object updateLock = new Object();
+    // Guarded by updateLock.
+    private boolean fetchInFlight;
+    private boolean updateRequested;
+    // Changes waiting for watchers, who are called outside updateLock so a slow listener can't
+    // hold up fetches, pushed updates or the restore.
+    private List<List<FeatureChanged>> unnotified = new ArrayList<>();
+    private boolean notifying;
+    // complete state rebuilt from deltas, only used with a DeltaFeatureFetcher
+    private DeltaFeatureState deltaState = new DeltaFeatureState();
 
     public FeatureRepositoryImpl(UnleashConfig unleashConfig, UnleashEngine engine) {
         this(unleashConfig, new FeatureBackupHandlerFile(unleashConfig), engine);
@@ -92,81 +124,333 @@ public class FeatureRepositoryImpl implements FeatureRepository {
         this.initCollections(unleashConfig.getScheduledExecutor());
     }
 
-    @SuppressWarnings("FutureReturnValueIgnored")
     private void initCollections(UnleashScheduledExecutor executor) {
+        boolean concurrent = unleashConfig.isConcurrentInitialisation();
+        if (concurrent) {
+            // The first fetch is in flight while the backup is read, whichever lands first makes
+            // the repository ready.
+            startUpdates(executor);
+        }
+        restore();
+
+        if (unleashConfig.isSynchronousFetchOnInitialisation()) {
+            if (this.unleashConfig.getStartupExceptionHandler() != null) {
+                awaitUpdate(this.unleashConfig.getStartupExceptionHandler());
+            } else {
+                awaitUpdate(
+                        e -> {
+                            throw e;
+                        }); // just throw exception handler
+            }
+        }
+        if (!concurrent) {
+            startUpdates(executor);
+        }
+    }
+
+    /** Takes the state from the backup, or else the bootstrap, unless a fetch got there first. */
+    private void restore() {
         Optional<String> features = this.featureBackupHandler.read();
-        if (!features.isPresent() && this.bootstrapper != null) {
+        if (!features.isPresent() && this.bootstrapper != null && getStateGeneration() == 0) {
             features = this.bootstrapper.read();
         }
-        if (features.isPresent()) {
+        if (!features.isPresent()) {
+            return;
+        }
+        synchronized (updateLock) {
+            if (getStateGeneration() > 0) {
+                LOGGER.debug("Fetched feature toggles arrived first, not restoring the backup");
+                return;
+            }
             try {
-                this.engine.takeState(features.get());
+                takeState(features.get());
+                readyFuture.complete(null);
             } catch (YggdrasilInvalidInputException e) {
                 LOGGER.error("Error when initializing feature toggles", e);
                 eventDispatcher.dispatch(new UnleashException("Failed to read backup file:", e));
             }
         }
+        notifyWatchers();
+    }
 
-        if (unleashConfig.isSynchronousFetchOnInitialisation()) {
-            if (this.unleashConfig.getStartupExceptionHandler() != null) {
-                updateFeatures(this.unleashConfig.getStartupExceptionHandler()).run();
-            } else {
-                updateFeatures(
-                                e -> {
-                                    throw e;
-                                }) // just throw exception handler
-                        .run();
-            }
-        }
-
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void startUpdates(UnleashScheduledExecutor executor) {
+        Runnable updateFeatures = updateFeatures(this.eventDispatcher::dispatch);
         if (!unleashConfig.isDisablePolling()) {
-            Runnable updateFeatures = updateFeatures(this.eventDispatcher::dispatch);
             if (unleashConfig.getFetchTogglesInterval() > 0) {
                 executor.setInterval(updateFeatures, 0, unleashConfig.getFetchTogglesInterval());
             } else {
                 executor.scheduleOnce(updateFeatures);
             }
         }
+        if (featureFetcher instanceof StreamingFeatureFetcher) {
+            // Pushed updates are applied right away instead of waiting for the next poll.
+            ((StreamingFeatureFetcher) featureFetcher)
+                    .start(() -> executor.scheduleOnce(updateFeatures));
+        }
     }
 
+    @SuppressWarnings("FutureReturnValueIgnored")
     private Runnable updateFeatures(final Consumer<UnleashException> handler) {
-        return () -> {
-            if (throttler.performAction()) {
-                try {
-                    ClientFeaturesResponse response = featureFetcher.fetchFeatures();
-                    eventDispatcher.dispatch(response);
-                    if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED) {
-                        String clientFeatures = response.getClientFeatures().get();
-
-                        this.engine.takeState(clientFeatures);
-                        featureBackupHandler.write(clientFeatures);
-                    } else if (response.getStatus() == ClientFeaturesResponse.Status.UNAVAILABLE) {
-                        if (!ready && unleashConfig.isSynchronousFetchOnInitialisation()) {
-                            throw new UnleashException(
-                                    String.format(
-                                            "Could not initialize Unleash, got response code %d",
-                                            response.getHttpStatusCode()),
-                                    null);
+        return () -> update(handler);
+    }
+
+    private void awaitUpdate(final Consumer<UnleashException> handler) {
+        try {
+            update(handler).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a fetch and applies the response once it arrives. With a non-blocking fetcher, the
+     * calling thread is free as soon as the request is sent.
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private CompletableFuture<Void> update(final Consumer<UnleashException> handler) {
+        synchronized (updateLock) {
+            if (fetchInFlight) {
+                // Polls and pushed updates may overlap with a slow fetch; go again once it's done.
+                updateRequested = true;
+                return CompletableFuture.completedFuture(null);
+            }
+            if (!throttler.performAction()) {
+                throttler.skipped(); // We didn't do anything this iteration, just reduce the count
+                return CompletableFuture.completedFuture(null);
+            }
+            fetchInFlight = true;
+        }
+        CompletableFuture<ClientFeaturesResponse> fetch;
+        try {
+            fetch = featureFetcher.fetchFeaturesAsync();
+        } catch (RuntimeException e) {
+            // Reported like a failed fetch, so fetchInFlight is always reset below.
+            fetch = CompletableFuture.failedFuture(e);
+        }
+        return fetch.handle(
+                (response, error) -> {
+                    try {
+                        synchronized (updateLock) {
+                            if (error != null) {
+                                handler.accept(toUnleashException(error));
+                            } else {
+                                applyResponse(response, handler);
+                            }
                         }
-                        if (ready) {
-                            throttler.handleHttpErrorCodes(response.getHttpStatusCode());
+                    } finally {
+                        boolean again;
+                        synchronized (updateLock) {
+                            fetchInFlight = false;
+                            again = updateRequested;
+                            updateRequested = false;
+                        }
+                        notifyWatchers();
+                        if (again) {
+                            // Not the caller's handler, which may rethrow into nobody's hands.
+                            update(this.eventDispatcher::dispatch);
                         }
-                        return;
                     }
-                    throttler.decrementFailureCountAndResetSkips();
-                    if (!ready) {
-                        eventDispatcher.dispatch(new UnleashReady());
-                        ready = true;
+                    return null;
+                });
+    }
+
+    private static UnleashException toUnleashException(Throwable error) {
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof UnleashException) {
+            return (UnleashException) cause;
+        }
+        return new UnleashException("Could not fetch toggles", cause);
+    }
+
+    private void applyResponse(
+            ClientFeaturesResponse response, final Consumer<UnleashException> handler) {
+        try {
+            if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED
+                    && response.isDelta()) {
+                String clientFeatures;
+                try {
+                    clientFeatures = takeDelta(response.getClientFeatures().get());
+                } finally {
+                    eventDispatcher.dispatch(response.withStateGeneration(getStateGeneration()));
+                }
+                featureBackupHandler.write(clientFeatures);
+            } else if (response.getStatus() == ClientFeaturesResponse.Status.CHANGED) {
+                String clientFeatures = response.getClientFeatures().get();
+                long hash = ContentHash.hash64(clientFeatures);
+
+                if (getStateGeneration() > 0 && hash == stateHash) {
+                    // Identical to the current state, e.g. a proxy stripped the ETag.
+                    // Nothing to rebuild, back up or announce.
+                    eventDispatcher.dispatch(response.withStateGeneration(getStateGeneration()));
+                } else {
+                    try {
+                        takeState(clientFeatures, hash);
+                    } finally {
+                        // dispatched once the state is taken, so it carries its
+                        // generation
+                        eventDispatcher.dispatch(
+                                response.withStateGeneration(getStateGeneration()));
                     }
-                } catch (UnleashException e) {
-                    handler.accept(e);
-                } catch (YggdrasilInvalidInputException e) {
-                    handler.accept(new UnleashException("Error when fetching features", e));
+                    featureBackupHandler.write(clientFeatures);
                 }
             } else {
-                throttler.skipped(); // We didn't do anything this iteration, just reduce the count
+                eventDispatcher.dispatch(response.withStateGeneration(getStateGeneration()));
+            }
+            if (response.getStatus() == ClientFeaturesResponse.Status.UNAVAILABLE) {
+                if (!ready && unleashConfig.isSynchronousFetchOnInitialisation()) {
+                    throw new UnleashException(
+                            String.format(
+                                    "Could not initialize Unleash, got response code %d",
+                                    response.getHttpStatusCode()),
+                            null);
+                }
+                if (ready) {
+                    throttler.handleHttpErrorCodes(response.getHttpStatusCode());
+                }
+                return;
+            }
+            throttler.decrementFailureCountAndResetSkips();
+            if (!ready) {
+                eventDispatcher.dispatch(new UnleashReady());
+                ready = true;
+                readyFuture.complete(null);
+            }
+        } catch (UnleashException e) {
+            handler.accept(e);
+        } catch (YggdrasilInvalidInputException e) {
+            handler.accept(new UnleashException("Error when fetching features", e));
+        }
+    }
+
+    private void takeState(String clientFeatures) throws YggdrasilInvalidInputException {
+        takeState(clientFeatures, ContentHash.hash64(clientFeatures));
+    }
+
+    private void takeState(String clientFeatures, long hash) throws YggdrasilInvalidInputException {
+        JsonObject parsed = parseState(clientFeatures);
+        // Built up front, so it can be published right after the engine takes the same state.
+        ConstantToggles.Table constants = this.constantToggles.prepare(parsed);
+        this.engine.takeState(clientFeatures);
+        this.constantToggles.publish(constants);
+        this.stateHash = hash;
+        this.catalogue = new ToggleCatalogue(this.engine.listKnownToggles());
+        List<FeatureChanged> changes =
+                parsed == null ? Collections.emptyList() : swapHashes(ToggleHashes.of(parsed));
+        // Last, so a reader that sees the new generation also sees every table built for it.
+        this.stateGeneration.incrementAndGet();
+        announce(changes);
+    }
+
+    /**
+     * Applies delta events on top of the current state. The engine takes the events as they are,
+     * only the features they touch are rehashed for change tracking.
+     *
+     * @return the resulting complete state, in the {@code /client/features} format
+     */
+    private String takeDelta(String delta) throws YggdrasilInvalidInputException {
+        try {
+            JsonObject parsed = JsonParser.parseString(delta).getAsJsonObject();
+            if (!deltaState.isHydrated() && !DeltaFeatureState.containsHydration(parsed)) {
+                // Events since a revision this client never saw, e.g. after a restart.
+                throw new IllegalStateException("Received a delta before any hydration");
+            }
+            DeltaFeatureState.Applied applied = deltaState.apply(parsed);
+            JsonObject state = deltaState.toJson();
+            ConstantToggles.Table constants = this.constantToggles.prepare(state);
+            this.engine.takeState(delta);
+            this.constantToggles.publish(constants);
+
+            String clientFeatures = state.toString();
+            this.stateHash = ContentHash.hash64(clientFeatures);
+            this.catalogue = new ToggleCatalogue(this.engine.listKnownToggles());
+            List<FeatureChanged> changes =
+                    swapHashes(
+                            applied.hydrated
+                                    ? ToggleHashes.of(state)
+                                    : ToggleHashes.update(
+                                            this.toggleHashes, state, applied.touchedFeatures));
+            this.stateGeneration.incrementAndGet();
+            announce(changes);
+            return clientFeatures;
+        } catch (YggdrasilInvalidInputException | RuntimeException e) {
+            // Gson reports malformed events as assorted runtime exceptions. Either way the state
+            // can't be trusted any more, so start over from a full hydration.
+            deltaState = new DeltaFeatureState();
+            if (featureFetcher instanceof DeltaFeatureFetcher) {
+                ((DeltaFeatureFetcher) featureFetcher).requestHydration();
             }
-        };
+            throw new UnleashException("Could not apply feature delta, requesting hydration", e);
+        }
+    }
+
+    /** Replaces the per-toggle hashes, returning what changed since the previous ones. */
+    private List<FeatureChanged> swapHashes(Map<String, Long> hashes) {
+        List<FeatureChanged> changes = ToggleHashes.diff(this.toggleHashes, hashes);
+        this.toggleHashes = hashes;
+        return changes;
+    }
+
+    private void announce(List<FeatureChanged> changes) {
+        if (eventDispatcher.isInterestedIn(FeatureChanged.class)) {
+            changes.forEach(eventDispatcher::dispatch);
+        }
+        if (!changes.isEmpty()) {
+            unnotified.add(changes);
+        }
+    }
+
+    /**
+     * Hands the announced changes to the watchers. Must be called without holding updateLock; one
+     * thread at a time drains the queue, so watchers still see the changes in the order they were
+     * made.
+     */
+    private void notifyWatchers() {
+        synchronized (updateLock) {
+            if (notifying || unnotified.isEmpty()) {
+                return;
+            }
+            notifying = true;
+        }
+        boolean drained = false;
+        try {
+            while (true) {
+                List<List<FeatureChanged>> batches;
+                synchronized (updateLock) {
+                    if (unnotified.isEmpty()) {
+                        notifying = false;
+                        drained = true;
+                        return;
+                    }
+                    batches = unnotified;
+                    unnotified = new ArrayList<>();
+                }
+                batches.forEach(watchRegistry::notify);
+            }
+        } finally {
+            if (!drained) {
+                synchronized (updateLock) {
+                    notifying = false;
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static JsonObject parseState(String clientFeatures) {
+        try {
+            return JsonParser.parseString(clientFeatures).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            LOGGER.warn("Could not parse feature toggles for change tracking", e);
+            return null;
+        }
+    }
+
+    public ConstantToggles getConstantToggles() {
+        return this.constantToggles;
     }
 
     public Integer getFailures() {
@@ -179,6 +463,10 @@ public class FeatureRepositoryImpl implements FeatureRepository {
 
     @Override
     public WasmResponse<Boolean> isEnabled(String toggleName, UnleashContext context) {
+        WasmResponse<Boolean> constant = this.constantToggles.isEnabled(toggleName);
+        if (constant != null) {
+            return constant;
+        }
         try {
             return this.engine.isEnabled(toggleName, YggdrasilAdapters.adapt(context));
         } catch (YggdrasilInvalidInputException e) {
@@ -187,6 +475,12 @@ public class FeatureRepositoryImpl implements FeatureRepository {
         }
     }
 
+    @Override
+    @Nullable
+    public ConstantToggles.Constant getConstant(String toggleName) {
+        return this.constantToggles.get(toggleName);
+    }
+
     @Override
     public WasmResponse<VariantDef> getVariant(String toggleName, UnleashContext context) {
         try {
@@ -199,6 +493,55 @@ public class FeatureRepositoryImpl implements FeatureRepository {
 
     @Override
     public Stream<FeatureDefinition> listKnownToggles() {
-        return this.engine.listKnownToggles().stream().map(FeatureDefinition::new);
+        return this.catalogue.definitions().stream();
+    }
+
+    @Override
+    public List<String> getToggleNames() {
+        return this.catalogue.names();
+    }
+
+    @Override
+    public Optional<FeatureDefinition> getFeatureDefinition(String toggleName) {
+        return Optional.ofNullable(this.catalogue.get(toggleName));
+    }
+
+    @Override
+    public List<FeatureDefinition> getFeatureDefinitionsByProject(String project) {
+        return this.catalogue.byProject(project);
+    }
+
+    @Override
+    public List<FeatureDefinition> getFeatureDefinitionsByType(String type) {
+        return this.catalogue.byType(type);
+    }
+
+    @Override
+    public long getStateGeneration() {
+        return this.stateGeneration.get();
+    }
+
+    @Override
+    public void watch(String toggleName, ToggleChangeListener listener) {
+        this.watchRegistry.watch(toggleName, listener);
+    }
+
+    @Override
+    public void unwatch(String toggleName, ToggleChangeListener listener) {
+        this.watchRegistry.unwatch(toggleName, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> readyFuture() {
+        // a copy, so callers can't complete it
+        return readyFuture.copy();
+    }
+
+    @Override
+    public void shutdown() {
+        if (featureFetcher instanceof StreamingFeatureFetcher) {
+            ((StreamingFeatureFetcher) featureFetcher).stop();
+        }
+        featureBackupHandler.flush();
     }
 }
@@ -0,0 +1,162 @@
+package io.getunleash.repository;
+
+import io.getunleash.util.BodyReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact on-disk form of a {@code /client/features} document: a fixed header followed by the
+ * gzipped JSON.
+ *
+ * <pre>
+ *   magic               4 bytes  0x89 'U' 'N' 'L'
+ *   format version      1 byte   1
+ *   compression         1 byte   1 = gzip
+ *   state generation    8 bytes  increases with every snapshot written for the same file
+ *   payload length      4 bytes  length of the uncompressed UTF-8 JSON
+ *   payload checksum    4 bytes  CRC32C of the uncompressed UTF-8 JSON
+ *   payload             gzip
+ * </pre>
+ *
+ * The magic can't start a JSON document, so {@link #read(InputStream, long)} tells snapshots and
+ * plain JSON files apart by their first bytes.
+ */
+final class FeatureSnapshot {
+    private static final byte[] MAGIC = {(byte) 0x89, 'U', 'N', 'L'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int HEADER_SIZE = MAGIC.length + 1 + 1 + 8 + 4 + 4;
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    // Deflate can't compress better than about 1032:1, a larger payload length is corrupt.
+    private static final long MAX_COMPRESSION_RATIO = 1032;
+
+    private final String clientFeatures;
+    private final long stateGeneration;
+
+    private FeatureSnapshot(String clientFeatures, long stateGeneration) {
+        this.clientFeatures = clientFeatures;
+        this.stateGeneration = stateGeneration;
+    }
+
+    String getClientFeatures() {
+        return clientFeatures;
+    }
+
+    /** 0 for plain JSON files. */
+    long getStateGeneration() {
+        return stateGeneration;
+    }
+
+    static byte[] encode(String clientFeatures, long stateGeneration) throws IOException {
+        byte[] payload = clientFeatures.getBytes(StandardCharsets.UTF_8);
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+
+        // JSON feature payloads usually compress to well under a fifth of their size.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + payload.length / 4);
+        DataOutputStream header = new DataOutputStream(out);
+        header.write(MAGIC);
+        header.writeByte(FORMAT_VERSION);
+        header.writeByte(COMPRESSION_GZIP);
+        header.writeLong(stateGeneration);
+        header.writeInt(payload.length);
+        header.writeInt((int) checksum.getValue());
+        header.flush();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, GZIP_BUFFER_SIZE)) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a snapshot or a plain JSON file.
+     *
+     * @throws IOException if the file can't be read, or is a snapshot that is truncated, uses an
+     *     unknown format, or doesn't match its checksum
+     */
+    static FeatureSnapshot read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, Files.size(file));
+        }
+    }
+
+    /**
+     * Reads a snapshot or a plain JSON file.
+     *
+     * @param length the file size, or a negative value if unknown
+     * @throws IOException if a snapshot is truncated, uses an unknown format, or doesn't match its
+     *     checksum
+     */
+    static FeatureSnapshot read(InputStream in, long length) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, MAGIC.length);
+        buffered.mark(MAGIC.length);
+        byte[] start = buffered.readNBytes(MAGIC.length);
+        buffered.reset();
+        if (!isMagic(start)) {
+            return new FeatureSnapshot(BodyReader.read(buffered, length), 0);
+        }
+        return readSnapshot(buffered, length);
+    }
+
+    private static FeatureSnapshot readSnapshot(InputStream in, long length) throws IOException {
+        DataInputStream header = new DataInputStream(in);
+        try {
+            header.skipBytes(MAGIC.length);
+            int formatVersion = header.readUnsignedByte();
+            int compression = header.readUnsignedByte();
+            if (formatVersion != FORMAT_VERSION || compression != COMPRESSION_GZIP) {
+                throw new IOException(
+                        "Unsupported snapshot format "
+                                + formatVersion
+                                + " with compression "
+                                + compression);
+            }
+            long stateGeneration = header.readLong();
+            int payloadLength = header.readInt();
+            int expectedChecksum = header.readInt();
+            if (payloadLength < 0
+                    || (length >= 0
+                            && payloadLength > (length - HEADER_SIZE) * MAX_COMPRESSION_RATIO)) {
+                throw new IOException("Corrupt snapshot, invalid payload length " + payloadLength);
+            }
+
+            // Decompressed, checksummed and decoded in one pass, without holding the payload bytes.
+            CRC32C checksum = new CRC32C();
+            String clientFeatures;
+            try (InputStream payload =
+                    new CheckedInputStream(new GZIPInputStream(in, GZIP_BUFFER_SIZE), checksum)) {
+                clientFeatures = BodyReader.read(payload, length >= 0 ? payloadLength : -1);
+            }
+            if ((int) checksum.getValue() != expectedChecksum) {
+                throw new IOException("Corrupt snapshot, checksum doesn't match");
+            }
+            return new FeatureSnapshot(clientFeatures, stateGeneration);
+        } catch (EOFException e) {
+            throw new IOException("Corrupt snapshot, file is truncated", e);
+        }
+    }
+
+    private static boolean isMagic(byte[] start) {
+        if (start.length != MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (start[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -4,16 +4,13 @@ import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
 
 import io.getunleash.UnleashException;
 import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.BodyReader;
 import io.getunleash.util.UnleashConfig;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,10 +23,15 @@ public class HttpFeatureFetcher implements FeatureFetcher {
     private final URL toggleUrl;
 
     public HttpFeatureFetcher(UnleashConfig config) {
-        this.config = config;
-        this.toggleUrl =
+        this(
+                config,
                 config.getUnleashURLs()
-                        .getFetchTogglesURL(config.getProjectName(), config.getNamePrefix());
+                        .getFetchTogglesURL(config.getProjectName(), config.getNamePrefix()));
+    }
+
+    protected HttpFeatureFetcher(UnleashConfig config, URL toggleUrl) {
+        this.config = config;
+        this.toggleUrl = toggleUrl;
     }
 
     @Override
@@ -60,14 +62,13 @@ public class HttpFeatureFetcher implements FeatureFetcher {
         if (responseCode < 300) {
             etag = Optional.ofNullable(request.getHeaderField("ETag"));
 
-            try (BufferedReader reader =
-                    new BufferedReader(
-                            new InputStreamReader(
-                                    (InputStream) request.getContent(), StandardCharsets.UTF_8))) {
-
-                String clientFeatures = reader.lines().collect(Collectors.joining("\n"));
+            String contentEncoding = request.getContentEncoding();
+            try (InputStream body = BodyReader.decode(request.getInputStream(), contentEncoding)) {
+                // Content-Length is the compressed size when the body is encoded.
+                long expectedLength = contentEncoding == null ? request.getContentLengthLong() : -1;
+                String clientFeatures = BodyReader.read(body, expectedLength);
 
-                return ClientFeaturesResponse.updated(clientFeatures);
+                return toResponse(clientFeatures);
             }
         } else if (followRedirect
                 && (responseCode == HttpURLConnection.HTTP_MOVED_TEMP
@@ -81,6 +82,16 @@ public class HttpFeatureFetcher implements FeatureFetcher {
         }
     }
 
+    /** Wraps a successfully fetched body. */
+    protected ClientFeaturesResponse toResponse(String body) {
+        return ClientFeaturesResponse.updated(body);
+    }
+
+    /** Forgets the ETag, so the next fetch is unconditional. */
+    protected void resetEtag() {
+        etag = Optional.empty();
+    }
+
     private ClientFeaturesResponse followRedirect(HttpURLConnection request) throws IOException {
         String newUrl =
                 getLocationHeader(request)
@@ -114,6 +125,9 @@ public class HttpFeatureFetcher implements FeatureFetcher {
         connection.setReadTimeout((int) this.config.getFetchTogglesReadTimeout().toMillis());
         connection.setRequestProperty("Accept", "application/json");
         connection.setRequestProperty("Content-Type", "application/json");
+        if (this.config.isFetchTogglesCompression()) {
+            connection.setRequestProperty("Accept-Encoding", "gzip, deflate");
+        }
         UnleashConfig.setRequestProperties(connection, this.config);
 
         etag.ifPresent(val -> connection.setRequestProperty("If-None-Match", val));
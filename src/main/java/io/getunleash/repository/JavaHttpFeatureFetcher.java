@@ -0,0 +1,140 @@
+package io.getunleash.repository;
+
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+
+import io.getunleash.UnleashException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.BodyReader;
+import io.getunleash.util.JavaHttpClientConfigurer;
+import io.getunleash.util.UnleashConfig;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Fetches toggles with {@link HttpClient}, which keeps the connection (and its TLS session) open
+ * between polls and uses HTTP/2 where the server supports it. By default it shares its client with
+ * a {@link io.getunleash.metric.JavaHttpMetricsSender} created from the same config.
+ *
+ * <p>{@link #fetchFeaturesAsync()} doesn't block, so the repository's scheduler thread never waits
+ * on the network.
+ */
+public class JavaHttpFeatureFetcher implements FeatureFetcher {
+    private final UnleashConfig config;
+    private final HttpClient client;
+    private final URI toggleUri;
+    private volatile Optional<String> etag = Optional.empty();
+
+    public JavaHttpFeatureFetcher(UnleashConfig config) {
+        this(config, JavaHttpClientConfigurer.sharedClient(config));
+    }
+
+    public JavaHttpFeatureFetcher(UnleashConfig config, HttpClient client) {
+        this.config = config;
+        this.client = client;
+        try {
+            this.toggleUri =
+                    config.getUnleashURLs()
+                            .getFetchTogglesURL(config.getProjectName(), config.getNamePrefix())
+                            .toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Toggle URL is not a valid URI", e);
+        }
+    }
+
+    @Override
+    public ClientFeaturesResponse fetchFeatures() throws UnleashException {
+        try {
+            return fetchFeaturesAsync().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnleashException("Interrupted while fetching toggles", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnleashException) {
+                throw (UnleashException) e.getCause();
+            }
+            throw new UnleashException("Could not fetch toggles", e.getCause());
+        }
+    }
+
+    /** Sends the request and reads the body without blocking the calling thread. */
+    @Override
+    public CompletableFuture<ClientFeaturesResponse> fetchFeaturesAsync() {
+        HttpRequest request;
+        try {
+            request = buildRequest();
+        } catch (IllegalArgumentException e) {
+            // e.g. a custom header the client doesn't allow to be set
+            return CompletableFuture.failedFuture(new UnleashException(e.getMessage(), e));
+        }
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle(
+                        (response, error) -> {
+                            if (error != null) {
+                                Throwable cause =
+                                        error instanceof CompletionException
+                                                ? error.getCause()
+                                                : error;
+                                throw new UnleashException("Could not fetch toggles", cause);
+                            }
+                            try {
+                                return toFeatureResponse(response);
+                            } catch (IOException e) {
+                                throw new UnleashException("Could not read toggles", e);
+                            }
+                        });
+    }
+
+    private HttpRequest buildRequest() {
+        HttpRequest.Builder request =
+                HttpRequest.newBuilder(toggleUri)
+                        .GET()
+                        .timeout(config.getFetchTogglesReadTimeout())
+                        .header("Accept", "application/json")
+                        .header("Content-Type", "application/json")
+                        .header(UNLEASH_INTERVAL, config.getFetchTogglesIntervalMillis());
+        if (config.isFetchTogglesCompression()) {
+            request.header("Accept-Encoding", "gzip, deflate");
+        }
+        UnleashConfig.setRequestProperties(request, config);
+        etag.ifPresent(val -> request.header("If-None-Match", val));
+        return request.build();
+    }
+
+    private ClientFeaturesResponse toFeatureResponse(HttpResponse<byte[]> response)
+            throws IOException {
+        int responseCode = response.statusCode();
+        if (responseCode < 300) {
+            etag = response.headers().firstValue("ETag");
+
+            Optional<String> contentEncoding = response.headers().firstValue("Content-Encoding");
+            String clientFeatures;
+            if (contentEncoding.isPresent()) {
+                try (InputStream body =
+                        BodyReader.decode(
+                                new ByteArrayInputStream(response.body()), contentEncoding.get())) {
+                    clientFeatures = BodyReader.read(body, -1);
+                }
+            } else {
+                clientFeatures = new String(response.body(), StandardCharsets.UTF_8);
+            }
+            return ClientFeaturesResponse.updated(clientFeatures);
+        } else if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            return ClientFeaturesResponse.notChanged();
+        } else {
+            return ClientFeaturesResponse.unavailable(
+                    responseCode, response.headers().firstValue("Location"));
+        }
+    }
+}
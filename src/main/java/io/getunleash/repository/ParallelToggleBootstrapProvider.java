@@ -0,0 +1,110 @@
+package io.getunleash.repository;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.getunleash.lang.Nullable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads several bootstrap sources at the same time and uses whichever valid one finishes first, so
+ * a slow or missing source (e.g. a remote URL during a cold start) never holds up a local one.
+ * Sources that are empty, fail, or don't contain a features document are skipped.
+ *
+ * <pre>
+ *   new ParallelToggleBootstrapProvider(
+ *           Duration.ofSeconds(2),
+ *           ToggleBootstrapStreamProvider.fromClasspath("unleash/features.json"),
+ *           new ToggleBootstrapStreamProvider(new URL("https://cdn.example.com/features.json")));
+ * </pre>
+ */
+public class ParallelToggleBootstrapProvider implements ToggleBootstrapProvider {
+    private static final Logger LOG =
+            LoggerFactory.getLogger(ParallelToggleBootstrapProvider.class);
+    // A source that's still reading must not keep the JVM alive.
+    private static final Executor READER =
+            runnable -> {
+                Thread thread = new Thread(runnable, "unleash-bootstrap-reader");
+                thread.setDaemon(true);
+                thread.start();
+            };
+
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<ToggleBootstrapProvider> providers;
+    private final Duration timeout;
+
+    /** Waits up to 10 seconds for a valid source. */
+    public ParallelToggleBootstrapProvider(ToggleBootstrapProvider... providers) {
+        this(DEFAULT_TIMEOUT, providers);
+    }
+
+    /**
+     * @param timeout how long to wait for a valid source before starting without a bootstrap
+     */
+    public ParallelToggleBootstrapProvider(Duration timeout, ToggleBootstrapProvider... providers) {
+        this.timeout = Objects.requireNonNull(timeout, "timeout");
+        this.providers = new ArrayList<>(Arrays.asList(providers));
+    }
+
+    @Override
+    public Optional<String> read() {
+        if (providers.isEmpty()) {
+            return Optional.empty();
+        }
+        CompletableFuture<Optional<String>> first = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(providers.size());
+        for (ToggleBootstrapProvider provider : providers) {
+            CompletableFuture.supplyAsync(provider::read, READER)
+                    .whenComplete(
+                            (features, error) -> {
+                                if (error != null) {
+                                    LOG.warn("Bootstrap provider {} failed", provider, error);
+                                } else if (isValid(features)) {
+                                    first.complete(features);
+                                }
+                                if (remaining.decrementAndGet() == 0) {
+                                    first.complete(Optional.empty());
+                                }
+                            });
+        }
+        try {
+            return first.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Never completed exceptionally.
+        } catch (TimeoutException e) {
+            LOG.warn("No bootstrap source was read within {}", timeout);
+        }
+        return Optional.empty();
+    }
+
+    /** Whether the source is a complete {@code /client/features} document. */
+    private static boolean isValid(@Nullable Optional<String> features) {
+        if (features == null || !features.isPresent()) {
+            return false;
+        }
+        try {
+            JsonElement document = JsonParser.parseString(features.get());
+            return document.isJsonObject()
+                    && document.getAsJsonObject().get("features") instanceof JsonArray;
+        } catch (JsonParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package io.getunleash.repository;
+
+import io.getunleash.UnleashException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.JavaHttpClientConfigurer;
+import io.getunleash.util.UnleashConfig;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a server-sent events connection to {@code /client/streaming} open and applies the pushed
+ * hydration and delta events as they arrive. Select it with {@code
+ * UnleashConfig.builder().unleashFeatureFetcherFactory(StreamingFeatureFetcher::new)}.
+ *
+ * <p>The repository is told about every pushed update right away and picks it up through {@link
+ * #fetchFeatures()}. While the stream is connected, the regular polling interval costs no requests.
+ * While it is down, {@link #fetchFeatures()} polls {@code /client/features} instead and the stream
+ * is reconnected in the background with jittered exponential backoff.
+ */
+public class StreamingFeatureFetcher implements FeatureFetcher {
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingFeatureFetcher.class);
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    static final Duration DEFAULT_MAX_BACKOFF = Duration.ofMinutes(1);
+    // The server sends heartbeats well within this; silence means the connection is gone.
+    private static final Duration STREAM_IDLE_TIMEOUT = Duration.ofMinutes(1);
+
+    private final UnleashConfig config;
+    private final URI streamingUri;
+    private final FeatureFetcher pollingFetcher;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final HttpClient client;
+    private final AtomicReference<String> pendingState = new AtomicReference<>();
+
+    // Guarded by this.
+    private DeltaFeatureState state = new DeltaFeatureState();
+    private int consecutiveFailures;
+    private long serverRetryMillis = -1;
+    @Nullable private String lastEventId;
+    @Nullable private EventStream stream;
+    @Nullable private volatile ScheduledExecutorService scheduler;
+    private Runnable onUpdate = () -> {};
+    private boolean stopped;
+
+    private volatile boolean connected;
+
+    public StreamingFeatureFetcher(UnleashConfig config) {
+        this(config, new HttpFeatureFetcher(config), DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    /**
+     * @param pollingFetcher used while the stream is not connected
+     * @param initialBackoff delay before the first reconnect attempt, doubled on every failure
+     * @param maxBackoff upper bound for the reconnect delay
+     */
+    public StreamingFeatureFetcher(
+            UnleashConfig config,
+            FeatureFetcher pollingFetcher,
+            Duration initialBackoff,
+            Duration maxBackoff) {
+        this.config = config;
+        try {
+            this.streamingUri = config.getUnleashURLs().getClientStreamingURL().toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Streaming URL is not a valid URI", e);
+        }
+        this.pollingFetcher = pollingFetcher;
+        this.initialBackoffMillis = Math.max(1, initialBackoff.toMillis());
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoff.toMillis());
+        this.client = JavaHttpClientConfigurer.sharedClient(config);
+    }
+
+    @Override
+    public ClientFeaturesResponse fetchFeatures() throws UnleashException {
+        String pushed = pendingState.getAndSet(null);
+        if (pushed != null) {
+            return ClientFeaturesResponse.updated(pushed);
+        }
+        if (connected) {
+            return ClientFeaturesResponse.notChanged();
+        }
+        return pollingFetcher.fetchFeatures();
+    }
+
+    /**
+     * Opens the stream. Called by the repository once it is ready to take updates; calling it again
+     * has no effect.
+     *
+     * @param onUpdate run after each pushed update, should return quickly
+     */
+    public synchronized void start(Runnable onUpdate) {
+        if (scheduler != null || stopped) {
+            return;
+        }
+        this.onUpdate = onUpdate;
+        this.scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        runnable -> {
+                            Thread thread = new Thread(runnable, "unleash-streaming");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        connect();
+    }
+
+    /** Closes the stream and stops reconnecting. Polling through {@link #fetchFeatures()} works. */
+    public synchronized void stop() {
+        stopped = true;
+        connected = false;
+        if (stream != null) {
+            stream.cancel();
+            stream = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /** Whether the stream is connected and holds a complete state. */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    private synchronized void connect() {
+        if (stopped) {
+            return;
+        }
+        HttpRequest.Builder request =
+                HttpRequest.newBuilder(streamingUri)
+                        .timeout(config.getFetchTogglesReadTimeout())
+                        .header("Accept", "text/event-stream")
+                        .header("Cache-Control", "no-cache");
+        UnleashConfig.setRequestProperties(request, config);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        EventStream current = new EventStream();
+        stream = current;
+        client.sendAsync(request.GET().build(), current::handle)
+                .whenComplete((response, error) -> current.closed(response, error));
+    }
+
+    private synchronized void disconnected(
+            EventStream closed, @Nullable Integer statusCode, @Nullable Throwable error) {
+        if (stream != closed || stopped) {
+            return;
+        }
+        stream = null;
+        connected = false;
+        if (error != null || statusCode == null || statusCode != 200) {
+            consecutiveFailures++;
+            LOG.warn(
+                    "Unleash streaming connection to {} failed, polling until it is back: {}",
+                    streamingUri,
+                    error != null ? error.toString() : "status " + statusCode);
+        }
+        scheduler.schedule(this::connect, nextBackoffMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void handleEvent(
+            EventStream source, @Nullable String eventName, String data) {
+        if (stream != source || stopped) {
+            return;
+        }
+        if (!"unleash-connected".equals(eventName) && !"unleash-updated".equals(eventName)) {
+            return;
+        }
+        boolean changed;
+        try {
+            changed = state.apply(data);
+        } catch (RuntimeException e) {
+            // Gson reports malformed events as assorted runtime exceptions. The held state may
+            // now be partial, so drop it and reconnect without resuming to get a fresh hydration.
+            LOG.warn("Could not apply streamed {} event", eventName, e);
+            state = new DeltaFeatureState();
+            lastEventId = null;
+            source.cancel();
+            disconnected(source, null, e);
+            return;
+        }
+        if (!state.isHydrated()) {
+            return;
+        }
+        consecutiveFailures = 0;
+        if (changed) {
+            pendingState.set(state.toClientFeatures());
+        }
+        // Only after the state is pending, so a poll in between can't miss it.
+        connected = true;
+        if (changed) {
+            onUpdate.run();
+        }
+    }
+
+    private long nextBackoffMillis() {
+        long base =
+                Math.min(
+                        maxBackoffMillis,
+                        serverRetryMillis > 0 ? serverRetryMillis : initialBackoffMillis);
+        int doublings = Math.min(Math.max(consecutiveFailures - 1, 0), 20);
+        long delay = Math.min(maxBackoffMillis, base << doublings);
+        // Equal jitter: at least half the delay, so a fleet of clients doesn't reconnect in
+        // lockstep after a server restart.
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    /** One connection attempt: parses the event stream line by line as it arrives. */
+    private final class EventStream implements Flow.Subscriber<String> {
+        @Nullable private Flow.Subscription subscription;
+        @Nullable private ScheduledFuture<?> idleTimeout;
+        private boolean cancelled;
+        @Nullable private String eventName;
+        private final StringBuilder data = new StringBuilder();
+
+        HttpResponse.BodySubscriber<Void> handle(HttpResponse.ResponseInfo info) {
+            if (info.statusCode() != 200) {
+                return HttpResponse.BodySubscribers.discarding();
+            }
+            synchronized (StreamingFeatureFetcher.this) {
+                // Resumed streams only send what was missed; the state we hold is complete.
+                if (stream == this) {
+                    connected = state.isHydrated();
+                }
+            }
+            return HttpResponse.BodySubscribers.fromLineSubscriber(this);
+        }
+
+        void closed(@Nullable HttpResponse<Void> response, @Nullable Throwable error) {
+            cancelIdleTimeout();
+            disconnected(this, response == null ? null : response.statusCode(), error);
+        }
+
+        synchronized void cancel() {
+            cancelled = true;
+            cancelIdleTimeout();
+            if (subscription != null) {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+                return;
+            }
+            resetIdleTimeout();
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            resetIdleTimeout();
+            if (line.isEmpty()) {
+                if (data.length() > 0) {
+                    handleEvent(this, eventName, data.toString());
+                }
+                eventName = null;
+                data.setLength(0);
+                return;
+            }
+            if (line.startsWith(":")) {
+                return; // comment, typically a heartbeat
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "event":
+                    eventName = value;
+                    break;
+                case "data":
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                    break;
+                case "id":
+                    synchronized (StreamingFeatureFetcher.this) {
+                        lastEventId = value.isEmpty() ? null : value;
+                    }
+                    break;
+                case "retry":
+                    try {
+                        long retry = Long.parseLong(value);
+                        synchronized (StreamingFeatureFetcher.this) {
+                            serverRetryMillis = retry;
+                        }
+                    } catch (NumberFormatException ignored) {
+                        // per the SSE spec, invalid values are ignored
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // Reported through the response future as well.
+        }
+
+        @Override
+        public void onComplete() {
+            // Reported through the response future as well.
+        }
+
+        private synchronized void resetIdleTimeout() {
+            cancelIdleTimeout();
+            ScheduledExecutorService current = scheduler;
+            if (!cancelled && current != null && !current.isShutdown()) {
+                idleTimeout =
+                        current.schedule(
+                                this::idle, STREAM_IDLE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private synchronized void cancelIdleTimeout() {
+            if (idleTimeout != null) {
+                idleTimeout.cancel(false);
+                idleTimeout = null;
+            }
+        }
+
+        private void idle() {
+            LOG.info("Unleash streaming connection to {} went quiet, reconnecting", streamingUri);
+            cancel();
+            disconnected(this, null, null);
+        }
+    }
+}
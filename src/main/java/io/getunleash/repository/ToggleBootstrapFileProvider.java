@@ -1,13 +1,11 @@
 package io.getunleash.repository;
 
 import io.getunleash.lang.Nullable;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Paths;
 import java.util.Optional;
 import org.slf4j.Logger;
@@ -34,12 +32,15 @@ public class ToggleBootstrapFileProvider implements ToggleBootstrapProvider {
     @Override
     public Optional<String> read() {
         LOG.info("Trying to read feature toggles from bootstrap file found at {}", path);
+        if (path == null) {
+            return Optional.empty();
+        }
         try {
-            File file = getFile(path);
-            if (file != null) {
-                return Optional.of(fileAsString(file));
+            if (path.startsWith("classpath:")) {
+                return readResource(path.substring("classpath:".length()));
             }
-        } catch (FileNotFoundException ioEx) {
+            return Optional.of(FeatureSnapshot.read(Paths.get(path)).getClientFeatures());
+        } catch (FileNotFoundException | NoSuchFileException ioEx) {
             LOG.warn("Could not find file {}", path, ioEx);
         } catch (IOException ioEx) {
             LOG.warn("Generic IOException when trying to read file at {}", path, ioEx);
@@ -47,6 +48,27 @@ public class ToggleBootstrapFileProvider implements ToggleBootstrapProvider {
         return Optional.empty();
     }
 
+    /**
+     * Resources in a directory are read as files, anything else (e.g. an entry in a fat jar) is
+     * streamed from its URL.
+     */
+    private Optional<String> readResource(String name) throws IOException {
+        URL resource = getClass().getClassLoader().getResource(name);
+        if (resource == null) {
+            LOG.warn("Could not find {} on the classpath", name);
+            return Optional.empty();
+        }
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return Optional.of(
+                        FeatureSnapshot.read(Paths.get(resource.toURI())).getClientFeatures());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                // Not a plain file after all, stream it below.
+            }
+        }
+        return Optional.of(ToggleBootstrapStreamProvider.read(resource::openStream));
+    }
+
     @Nullable
     private String getBootstrapFile() {
         String path = System.getenv("UNLEASH_BOOTSTRAP_FILE");
@@ -55,32 +77,4 @@ public class ToggleBootstrapFileProvider implements ToggleBootstrapProvider {
         }
         return path;
     }
-
-    private String fileAsString(File file) throws IOException {
-        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
-    }
-
-    @Nullable
-    private File getFile(@Nullable String path) {
-        if (path != null) {
-            if (path.startsWith("classpath:")) {
-                try {
-                    URL resource =
-                            getClass()
-                                    .getClassLoader()
-                                    .getResource(path.substring("classpath:".length()));
-                    if (resource != null) {
-                        return Paths.get(resource.toURI()).toFile();
-                    }
-                    return null;
-                } catch (URISyntaxException e) {
-                    return null;
-                }
-            } else {
-                return Paths.get(path).toFile();
-            }
-        } else {
-            return null;
-        }
-    }
 }
@@ -0,0 +1,97 @@
+package io.getunleash.repository;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads toggles from a stream, opened again for every read. Unlike {@link
+ * ToggleBootstrapFileProvider} it doesn't need the source to be a file, so resources inside a jar
+ * and arbitrary URLs work too. Both plain JSON and the backup snapshot format are accepted.
+ *
+ * <pre>
+ *   new ToggleBootstrapStreamProvider(new URL("https://cdn.example.com/unleash/features.json"));
+ *   ToggleBootstrapStreamProvider.fromClasspath("unleash/features.json");
+ * </pre>
+ */
+public class ToggleBootstrapStreamProvider implements ToggleBootstrapProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(ToggleBootstrapStreamProvider.class);
+    public static final Duration DEFAULT_URL_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String description;
+    private final StreamSource source;
+
+    /** Reads the URL, giving up when connecting or any read takes longer than 10 seconds. */
+    public ToggleBootstrapStreamProvider(URL url) {
+        this(url, DEFAULT_URL_TIMEOUT);
+    }
+
+    /**
+     * @param timeout limit for connecting and for each read, so an unresponsive server can't block
+     *     startup
+     */
+    public ToggleBootstrapStreamProvider(URL url, Duration timeout) {
+        this(
+                url.toString(),
+                () -> {
+                    URLConnection connection = url.openConnection();
+                    connection.setConnectTimeout((int) timeout.toMillis());
+                    connection.setReadTimeout((int) timeout.toMillis());
+                    return connection.getInputStream();
+                });
+    }
+
+    /**
+     * @param source opens the stream to read, it's closed once read
+     */
+    public ToggleBootstrapStreamProvider(StreamSource source) {
+        this("input stream", source);
+    }
+
+    private ToggleBootstrapStreamProvider(String description, StreamSource source) {
+        this.description = description;
+        this.source = source;
+    }
+
+    /** Reads a resource from the class loader that loaded Unleash, looked up on every read. */
+    public static ToggleBootstrapStreamProvider fromClasspath(String resource) {
+        ClassLoader classLoader = ToggleBootstrapStreamProvider.class.getClassLoader();
+        return new ToggleBootstrapStreamProvider(
+                "classpath:" + resource,
+                () -> {
+                    InputStream in = classLoader.getResourceAsStream(resource);
+                    if (in == null) {
+                        throw new FileNotFoundException(resource + " is not on the classpath");
+                    }
+                    return in;
+                });
+    }
+
+    @Override
+    public Optional<String> read() {
+        LOG.info("Trying to read feature toggles from bootstrap {}", description);
+        try {
+            return Optional.of(read(source));
+        } catch (IOException e) {
+            LOG.warn("Could not read bootstrap from {}", description, e);
+            return Optional.empty();
+        }
+    }
+
+    static String read(StreamSource source) throws IOException {
+        try (InputStream in = source.open()) {
+            return FeatureSnapshot.read(in, -1).getClientFeatures();
+        }
+    }
+
+    @FunctionalInterface
+    public interface StreamSource {
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,83 @@
+package io.getunleash.repository;
+
+import io.getunleash.FeatureDefinition;
+import io.getunleash.engine.FeatureDef;
+import io.getunleash.lang.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the metadata of all known toggles, indexed by name, project and type. A new
+ * catalogue is built every time the repository takes a new state, so lookups never go back to the
+ * engine.
+ */
+final class ToggleCatalogue {
+    static final ToggleCatalogue EMPTY = new ToggleCatalogue(Collections.emptyList());
+
+    private final Map<String, FeatureDefinition> byName;
+    private final List<String> names;
+    private final List<FeatureDefinition> definitions;
+    private final Map<String, List<FeatureDefinition>> byProject;
+    private final Map<String, List<FeatureDefinition>> byType;
+
+    ToggleCatalogue(Collection<FeatureDef> toggles) {
+        TreeMap<String, FeatureDefinition> sorted = new TreeMap<>();
+        for (FeatureDef toggle : toggles) {
+            sorted.put(toggle.getName(), new FeatureDefinition(toggle));
+        }
+        Map<String, List<FeatureDefinition>> projects = new HashMap<>();
+        Map<String, List<FeatureDefinition>> types = new HashMap<>();
+        for (FeatureDefinition definition : sorted.values()) {
+            projects.computeIfAbsent(definition.getProject(), k -> new ArrayList<>())
+                    .add(definition);
+            definition
+                    .getType()
+                    .ifPresent(
+                            type ->
+                                    types.computeIfAbsent(type, k -> new ArrayList<>())
+                                            .add(definition));
+        }
+        this.byName = Collections.unmodifiableMap(new HashMap<>(sorted));
+        this.names = Collections.unmodifiableList(new ArrayList<>(sorted.keySet()));
+        this.definitions = Collections.unmodifiableList(new ArrayList<>(sorted.values()));
+        this.byProject = freeze(projects);
+        this.byType = freeze(types);
+    }
+
+    @Nullable
+    FeatureDefinition get(String toggleName) {
+        return byName.get(toggleName);
+    }
+
+    /** Toggle names in lexicographic order. */
+    List<String> names() {
+        return names;
+    }
+
+    /** Toggle definitions ordered by name. */
+    List<FeatureDefinition> definitions() {
+        return definitions;
+    }
+
+    List<FeatureDefinition> byProject(String project) {
+        return byProject.getOrDefault(project, Collections.emptyList());
+    }
+
+    List<FeatureDefinition> byType(String type) {
+        return byType.getOrDefault(type, Collections.emptyList());
+    }
+
+    private static Map<String, List<FeatureDefinition>> freeze(
+            Map<String, List<FeatureDefinition>> index) {
+        Map<String, List<FeatureDefinition>> frozen = new HashMap<>();
+        for (Map.Entry<String, List<FeatureDefinition>> entry : index.entrySet()) {
+            frozen.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(frozen);
+    }
+}
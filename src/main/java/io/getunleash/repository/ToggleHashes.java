@@ -0,0 +1,140 @@
+package io.getunleash.repository;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import io.getunleash.event.FeatureChanged;
+import io.getunleash.event.FeatureChanged.ChangeType;
+import io.getunleash.lang.Nullable;
+import io.getunleash.util.ContentHash;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Per-toggle content hashes of a feature state, used to work out which toggles a new state actually
+ * changed. A toggle's hash covers its own definition and the segments it references, so editing a
+ * segment shows up as a change to every toggle using it.
+ */
+final class ToggleHashes {
+    static final Map<String, Long> EMPTY = Collections.emptyMap();
+
+    private ToggleHashes() {}
+
+    static Map<String, Long> of(@Nullable JsonObject clientFeatures) {
+        if (clientFeatures == null) {
+            return EMPTY;
+        }
+        JsonElement features = clientFeatures.get("features");
+        if (features == null || !features.isJsonArray()) {
+            return EMPTY;
+        }
+        Map<String, String> segments = segments(clientFeatures.get("segments"));
+        Map<String, Long> hashes = new HashMap<>();
+        for (JsonElement element : features.getAsJsonArray()) {
+            if (!element.isJsonObject() || !element.getAsJsonObject().has("name")) {
+                continue;
+            }
+            JsonObject feature = element.getAsJsonObject();
+            hashes.put(feature.get("name").getAsString(), hash(feature, segments));
+        }
+        return Collections.unmodifiableMap(hashes);
+    }
+
+    /**
+     * Hashes after a delta: only the named toggles are hashed again, all others keep their previous
+     * hash.
+     *
+     * @param clientFeatures the full state after the delta
+     * @param touched toggles the delta updated or removed, or whose segments it changed
+     */
+    static Map<String, Long> update(
+            Map<String, Long> previous, JsonObject clientFeatures, Set<String> touched) {
+        if (touched.isEmpty()) {
+            return previous;
+        }
+        Map<String, Long> hashes = new HashMap<>(previous);
+        touched.forEach(hashes::remove);
+        Map<String, String> segments = null;
+        JsonElement features = clientFeatures.get("features");
+        if (features != null && features.isJsonArray()) {
+            for (JsonElement element : features.getAsJsonArray()) {
+                if (!element.isJsonObject() || !element.getAsJsonObject().has("name")) {
+                    continue;
+                }
+                JsonObject feature = element.getAsJsonObject();
+                String name = feature.get("name").getAsString();
+                if (touched.contains(name)) {
+                    if (segments == null) {
+                        segments = segments(clientFeatures.get("segments"));
+                    }
+                    hashes.put(name, hash(feature, segments));
+                }
+            }
+        }
+        return Collections.unmodifiableMap(hashes);
+    }
+
+    private static long hash(JsonObject feature, Map<String, String> segments) {
+        StringBuilder content = new StringBuilder(feature.toString());
+        for (String segmentId : referencedSegments(feature)) {
+            content.append('\n').append(segments.getOrDefault(segmentId, segmentId));
+        }
+        return ContentHash.hash64(content);
+    }
+
+    /** Changes from {@code previous} to {@code current}, ordered by toggle name. */
+    static List<FeatureChanged> diff(Map<String, Long> previous, Map<String, Long> current) {
+        TreeSet<String> names = new TreeSet<>(previous.keySet());
+        names.addAll(current.keySet());
+        List<FeatureChanged> changes = new ArrayList<>();
+        for (String name : names) {
+            Long before = previous.get(name);
+            Long after = current.get(name);
+            if (before == null) {
+                changes.add(new FeatureChanged(name, ChangeType.ADDED, null, after));
+            } else if (after == null) {
+                changes.add(new FeatureChanged(name, ChangeType.REMOVED, before, null));
+            } else if (!before.equals(after)) {
+                changes.add(new FeatureChanged(name, ChangeType.MODIFIED, before, after));
+            }
+        }
+        return changes;
+    }
+
+    private static Map<String, String> segments(@Nullable JsonElement segments) {
+        if (segments == null || !segments.isJsonArray()) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> byId = new HashMap<>();
+        for (JsonElement segment : segments.getAsJsonArray()) {
+            if (segment.isJsonObject() && segment.getAsJsonObject().has("id")) {
+                byId.put(segment.getAsJsonObject().get("id").getAsString(), segment.toString());
+            }
+        }
+        return byId;
+    }
+
+    private static TreeSet<String> referencedSegments(JsonObject feature) {
+        TreeSet<String> ids = new TreeSet<>();
+        JsonElement strategies = feature.get("strategies");
+        if (strategies == null || !strategies.isJsonArray()) {
+            return ids;
+        }
+        for (JsonElement strategy : strategies.getAsJsonArray()) {
+            if (!strategy.isJsonObject()) {
+                continue;
+            }
+            JsonElement segments = strategy.getAsJsonObject().get("segments");
+            if (segments != null && segments.isJsonArray()) {
+                for (JsonElement id : segments.getAsJsonArray()) {
+                    ids.add(id.getAsString());
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,75 @@
+package io.getunleash.repository;
+
+import io.getunleash.ToggleChangeListener;
+import io.getunleash.event.FeatureChanged;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listeners keyed by toggle name. Registration never blocks state updates, and each update only
+ * looks up the toggles that actually changed.
+ */
+final class ToggleWatchRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ToggleWatchRegistry.class);
+
+    private final ConcurrentHashMap<String, CopyOnWriteArrayList<ToggleChangeListener>> listeners =
+            new ConcurrentHashMap<>();
+
+    void watch(String toggleName, ToggleChangeListener listener) {
+        // Add inside compute, so a concurrent unwatch can't drop the list in between.
+        listeners.compute(
+                toggleName,
+                (name, registered) -> {
+                    CopyOnWriteArrayList<ToggleChangeListener> list =
+                            registered == null ? new CopyOnWriteArrayList<>() : registered;
+                    list.addIfAbsent(listener);
+                    return list;
+                });
+    }
+
+    void unwatch(String toggleName, ToggleChangeListener listener) {
+        listeners.computeIfPresent(
+                toggleName,
+                (name, registered) -> {
+                    registered.remove(listener);
+                    return registered.isEmpty() ? null : registered;
+                });
+    }
+
+    /** Delivers the changes, calling each affected listener once with all of its changes. */
+    void notify(List<FeatureChanged> changes) {
+        if (listeners.isEmpty() || changes.isEmpty()) {
+            return;
+        }
+        Map<ToggleChangeListener, List<FeatureChanged>> batches = new IdentityHashMap<>();
+        List<ToggleChangeListener> order = new ArrayList<>();
+        for (FeatureChanged change : changes) {
+            List<ToggleChangeListener> watching = listeners.get(change.getToggleName());
+            if (watching == null) {
+                continue;
+            }
+            for (ToggleChangeListener listener : watching) {
+                batches.computeIfAbsent(
+                                listener,
+                                l -> {
+                                    order.add(l);
+                                    return new ArrayList<>();
+                                })
+                        .add(change);
+            }
+        }
+        for (ToggleChangeListener listener : order) {
+            try {
+                listener.onChange(batches.get(listener));
+            } catch (RuntimeException e) {
+                LOGGER.warn("Toggle change listener {} failed", listener, e);
+            }
+        }
+    }
+}
@@ -8,7 +8,9 @@ import io.getunleash.engine.Payload;
 import io.getunleash.engine.VariantDef;
 import io.getunleash.lang.Nullable;
 import io.getunleash.strategy.Strategy;
+import io.getunleash.variant.PayloadCache;
 import io.getunleash.variant.Variant;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -60,30 +62,56 @@ public final class YggdrasilAdapters {
                 context.getProperties());
     }
 
+    /**
+     * @return the engine context for this context, translated once and cached on the context
+     */
     public static Context adapt(UnleashContext context) {
-        Context mapped = new Context();
+        return context.getEngineContext();
+    }
+
+    /**
+     * Translates a context into the engine's representation. Contexts without an explicit current
+     * time report the wall clock at the moment the engine reads it, formatted at most once per
+     * millisecond.
+     */
+    public static Context translate(UnleashContext context) {
+        Context mapped = new ClockedContext();
         mapped.setAppName(context.getAppName().orElse(null));
         mapped.setEnvironment(context.getEnvironment().orElse(null));
         mapped.setUserId(context.getUserId().orElse(null));
         mapped.setSessionId(context.getSessionId().orElse(null));
         mapped.setRemoteAddress(context.getRemoteAddress().orElse(null));
         mapped.setProperties(context.getProperties());
-        mapped.setCurrentTime(
-                DateTimeFormatter.ISO_INSTANT.format(
-                        context.getCurrentTime().orElse(ZonedDateTime.now()).toInstant()));
+        context.getCurrentTime()
+                .ifPresent(
+                        time ->
+                                mapped.setCurrentTime(
+                                        DateTimeFormatter.ISO_INSTANT.format(time.toInstant())));
         return mapped;
     }
 
     public static Variant adapt(Optional<VariantDef> variant, Variant defaultValue) {
-        if (!variant.isPresent()) {
+        return adapt(variant.orElse(null), defaultValue);
+    }
+
+    public static Variant adapt(@Nullable VariantDef unwrapped, Variant defaultValue) {
+        return adapt(unwrapped, defaultValue, null);
+    }
+
+    /** As {@link #adapt(VariantDef, Variant)}, decoding payloads through the given cache. */
+    public static Variant adapt(
+            @Nullable VariantDef unwrapped,
+            Variant defaultValue,
+            @Nullable PayloadCache payloadCache) {
+        if (unwrapped == null) {
             return defaultValue;
         }
-        VariantDef unwrapped = variant.get();
         return new Variant(
                 unwrapped.getName(),
                 adapt(unwrapped.getPayload()),
                 unwrapped.isEnabled(),
-                unwrapped.isFeatureEnabled());
+                unwrapped.isFeatureEnabled(),
+                payloadCache);
     }
 
     public static @Nullable io.getunleash.variant.Payload adapt(@Nullable Payload payload) {
@@ -91,4 +119,37 @@ public final class YggdrasilAdapters {
                 .map(p -> new io.getunleash.variant.Payload(p.getType(), p.getValue()))
                 .orElse(new io.getunleash.variant.Payload("string", null));
     }
+
+    private static final class ClockedContext extends Context {
+        @Override
+        public String getCurrentTime() {
+            String currentTime = super.getCurrentTime();
+            return currentTime != null ? currentTime : CachedClock.now();
+        }
+    }
+
+    private static final class CachedClock {
+        private static volatile CachedClock last = new CachedClock(0L, "");
+
+        private final long millis;
+        private final String formatted;
+
+        private CachedClock(long millis, String formatted) {
+            this.millis = millis;
+            this.formatted = formatted;
+        }
+
+        static String now() {
+            long millis = System.currentTimeMillis();
+            CachedClock cached = last;
+            if (cached.millis != millis) {
+                cached =
+                        new CachedClock(
+                                millis,
+                                DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(millis)));
+                last = cached;
+            }
+            return cached.formatted;
+        }
+    }
 }
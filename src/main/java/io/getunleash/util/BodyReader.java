@@ -0,0 +1,86 @@
+package io.getunleash.util;
+
+import io.getunleash.lang.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads UTF-8 bodies straight into a per-thread byte buffer and decodes them once. The buffer is
+ * sized from the expected length when one is known (a {@code Content-Length} header or a file
+ * size), grows by doubling otherwise, and is kept for the next read on the same thread only while
+ * it stays within {@link #MAX_POOLED_SIZE}. Larger buffers are dropped after the read, so an
+ * occasional big body doesn't stay pinned to every thread that once read one.
+ *
+ * <p>Unlike reading line by line, the body is returned exactly as sent, line terminators included.
+ */
+public final class BodyReader {
+    static final int DEFAULT_SIZE = 16 * 1024;
+    static final int MAX_POOLED_SIZE = 64 * 1024;
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<byte[]> BUFFERS =
+            ThreadLocal.withInitial(() -> new byte[DEFAULT_SIZE]);
+
+    private BodyReader() {}
+
+    /**
+     * @param expectedLength expected number of bytes, or a negative value if unknown. A wrong value
+     *     only costs a resize, the stream is always read to the end.
+     */
+    public static String read(InputStream in, long expectedLength) throws IOException {
+        byte[] buffer = BUFFERS.get();
+        if (expectedLength >= buffer.length && expectedLength < Integer.MAX_VALUE - 8) {
+            // One extra byte so hitting end of stream does not force a resize.
+            buffer = new byte[(int) expectedLength + 1];
+        }
+        int length = 0;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (length == buffer.length) {
+                int next = in.read();
+                if (next == -1) {
+                    break;
+                }
+                buffer = Arrays.copyOf(buffer, grow(buffer.length));
+                buffer[length++] = (byte) next;
+            }
+        }
+        if (buffer.length <= MAX_POOLED_SIZE) {
+            BUFFERS.set(buffer);
+        }
+        return new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wraps a body sent with a {@code Content-Encoding} so it reads decompressed. Bodies without an
+     * encoding, or with one we never ask for, are returned as they are.
+     */
+    public static InputStream decode(InputStream body, @Nullable String contentEncoding)
+            throws IOException {
+        if ("gzip".equalsIgnoreCase(contentEncoding)) {
+            return new GZIPInputStream(body, GZIP_BUFFER_SIZE);
+        } else if ("deflate".equalsIgnoreCase(contentEncoding)) {
+            return new InflaterInputStream(body);
+        }
+        return body;
+    }
+
+    static int pooledBufferSize() {
+        return BUFFERS.get().length;
+    }
+
+    private static int grow(int current) {
+        if (current >= Integer.MAX_VALUE / 2) {
+            if (current == Integer.MAX_VALUE - 8) {
+                throw new OutOfMemoryError("Body too large to buffer");
+            }
+            return Integer.MAX_VALUE - 8;
+        }
+        return current << 1;
+    }
+}
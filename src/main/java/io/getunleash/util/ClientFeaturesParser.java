@@ -3,6 +3,7 @@ package io.getunleash.util;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.reflect.TypeToken;
 import io.getunleash.FeatureDefinition;
@@ -24,4 +25,25 @@ public class ClientFeaturesParser {
         Type listType = new TypeToken<List<FeatureDefinition>>() {}.getType();
         return gson.fromJson(featuresArray, listType);
     }
+
+    /** Features hydrated or updated by the events of a {@code /client/delta} document. */
+    public static List<FeatureDefinition> parseDelta(String delta) {
+        JsonObject jsonObject = gson.fromJson(delta, JsonObject.class);
+
+        JsonArray featuresArray = new JsonArray();
+        JsonArray events = jsonObject.getAsJsonArray("events");
+        if (events != null) {
+            for (JsonElement element : events) {
+                JsonObject event = element.getAsJsonObject();
+                if (event.has("features")) {
+                    featuresArray.addAll(event.getAsJsonArray("features"));
+                } else if (event.has("feature")) {
+                    featuresArray.add(event.get("feature"));
+                }
+            }
+        }
+
+        Type listType = new TypeToken<List<FeatureDefinition>>() {}.getType();
+        return gson.fromJson(featuresArray, listType);
+    }
 }
@@ -0,0 +1,115 @@
+package io.getunleash.util;
+
+import com.sangupta.murmur.Murmur3;
+import java.util.Arrays;
+
+/**
+ * 64-bit content hash used to tell feature states and individual toggles apart without keeping or
+ * comparing their full JSON. This is the first half of MurmurHash3 x64 128 with seed 0, as computed
+ * by {@link Murmur3}; it is not a cryptographic hash.
+ */
+public final class ContentHash {
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private ContentHash() {}
+
+    /**
+     * Hashes the string's UTF-16 code units in place, without encoding it first, so even
+     * multi-megabyte payloads are hashed without allocating. {@link Murmur3} only takes bytes, so
+     * this is the same algorithm reading two bytes per char; the result equals {@link
+     * #hash64(byte[])} of the string's UTF-16LE bytes.
+     */
+    public static long hash64(CharSequence content) {
+        int chars = content.length();
+        long h1 = 0;
+        long h2 = 0;
+        int blocks = chars >>> 3;
+        for (int i = 0; i < blocks; i++) {
+            int index = i << 3;
+            long k1 = getLong(content, index);
+            long k2 = getLong(content, index + 4);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        int tail = blocks << 3;
+        int remaining = chars & 7;
+        long k1 = 0;
+        long k2 = 0;
+        for (int j = 0; j < remaining; j++) {
+            long c = content.charAt(tail + j);
+            if (j < 4) {
+                k1 |= c << (j << 4);
+            } else {
+                k2 |= c << ((j - 4) << 4);
+            }
+        }
+        if (remaining > 4) {
+            h2 ^= mixK2(k2);
+        }
+        if (remaining > 0) {
+            h1 ^= mixK1(k1);
+        }
+        return finish(h1, h2, (long) chars << 1);
+    }
+
+    public static long hash64(byte[] data) {
+        return hash64(data, 0, data.length);
+    }
+
+    public static long hash64(byte[] data, int offset, int length) {
+        // Murmur3 overwrites parts of its input while mixing, so always hand it a copy.
+        byte[] copy = Arrays.copyOfRange(data, offset, offset + length);
+        return Murmur3.hash_x64_128(copy, length, 0)[0];
+    }
+
+    private static long finish(long h1, long h2, long length) {
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        return h1;
+    }
+
+    private static long getLong(CharSequence content, int index) {
+        return content.charAt(index)
+                | (long) content.charAt(index + 1) << 16
+                | (long) content.charAt(index + 2) << 32
+                | (long) content.charAt(index + 3) << 48;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        k1 *= C2;
+        return k1;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        k2 *= C1;
+        return k2;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
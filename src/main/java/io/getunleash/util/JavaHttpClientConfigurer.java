@@ -0,0 +1,60 @@
+package io.getunleash.util;
+
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the {@link HttpClient} used by the {@code java.net.http} based fetchers and senders. One
+ * client keeps its connections alive between requests and multiplexes them over HTTP/2 where the
+ * server supports it, so {@link #sharedClient(UnleashConfig)} hands out the same client to every
+ * component created from the same config.
+ */
+public class JavaHttpClientConfigurer {
+    private static final Logger LOG = LoggerFactory.getLogger(JavaHttpClientConfigurer.class);
+
+    // Weak keys, so a discarded config doesn't keep its connection pool around.
+    private static final Map<UnleashConfig, HttpClient> SHARED = new WeakHashMap<>();
+
+    private JavaHttpClientConfigurer() {}
+
+    /** The client shared by all {@code java.net.http} components created from this config. */
+    public static HttpClient sharedClient(UnleashConfig config) {
+        synchronized (SHARED) {
+            return SHARED.computeIfAbsent(config, c -> newBuilder(c).build());
+        }
+    }
+
+    /**
+     * A builder with the connect timeout, redirect policy, proxy and proxy authentication of the
+     * config. Request timeouts and headers are set per request.
+     */
+    public static HttpClient.Builder newBuilder(UnleashConfig config) {
+        HttpClient.Builder builder =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(config.getFetchTogglesConnectTimeout())
+                        .followRedirects(HttpClient.Redirect.NORMAL);
+        Proxy proxy = config.getProxy();
+        if (proxy != null) {
+            if (proxy.type() == Proxy.Type.HTTP) {
+                builder.proxy(ProxySelector.of((InetSocketAddress) proxy.address()));
+            } else if (proxy.type() == Proxy.Type.DIRECT) {
+                builder.proxy(HttpClient.Builder.NO_PROXY);
+            } else {
+                LOG.warn("java.net.http.HttpClient does not support {} proxies", proxy.type());
+            }
+        }
+        Authenticator authenticator = Authenticator.getDefault();
+        if (authenticator != null) {
+            builder.authenticator(authenticator);
+        }
+        return builder;
+    }
+}
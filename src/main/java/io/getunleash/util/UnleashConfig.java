@@ -4,6 +4,8 @@ import io.getunleash.CustomHttpHeadersProvider;
 import io.getunleash.DefaultCustomHttpHeadersProviderImpl;
 import io.getunleash.UnleashContextProvider;
 import io.getunleash.UnleashException;
+import io.getunleash.event.EventOverflowPolicy;
+import io.getunleash.event.EventRingBuffer;
 import io.getunleash.event.NoOpSubscriber;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.lang.Nullable;
@@ -14,6 +16,7 @@ import io.getunleash.strategy.Strategy;
 import java.io.File;
 import java.math.BigInteger;
 import java.net.*;
+import java.net.http.HttpRequest;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -22,6 +25,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public class UnleashConfig {
@@ -42,6 +46,8 @@ public class UnleashConfig {
     private final String connectionId;
     private final String sdkVersion;
     private final String backupFile;
+    private final Duration backupWriteInterval;
+    private final boolean backupSnapshotFormat;
 
     private final String clientSpecificationVersion;
     @Nullable private final String projectName;
@@ -59,6 +65,8 @@ public class UnleashConfig {
 
     private final Duration sendMetricsReadTimeout;
     private final boolean disableMetrics;
+    private final boolean fetchTogglesCompression;
+    private final boolean sendMetricsCompression;
     private final boolean isProxyAuthenticationByJvmProperties;
     private final UnleashFeatureFetcherFactory unleashFeatureFetcherFactory;
 
@@ -66,8 +74,10 @@ public class UnleashConfig {
 
     private final UnleashContextProvider contextProvider;
     private final boolean synchronousFetchOnInitialisation;
+    private final boolean concurrentInitialisation;
     private final UnleashScheduledExecutor unleashScheduledExecutor;
     private final UnleashSubscriber unleashSubscriber;
+    @Nullable private final EventRingBuffer eventRingBuffer;
     @Nullable private Strategy fallbackStrategy;
     @Nullable private final ToggleBootstrapProvider toggleBootstrapProvider;
     @Nullable private final Proxy proxy;
@@ -83,6 +93,8 @@ public class UnleashConfig {
             String connectionId,
             String sdkVersion,
             String backupFile,
+            Duration backupWriteInterval,
+            boolean backupSnapshotFormat,
             @Nullable String projectName,
             @Nullable String namePrefix,
             long fetchTogglesInterval,
@@ -93,13 +105,18 @@ public class UnleashConfig {
             Duration sendMetricsConnectTimeout,
             Duration sendMetricsReadTimeout,
             boolean disableMetrics,
+            boolean fetchTogglesCompression,
+            boolean sendMetricsCompression,
             UnleashContextProvider contextProvider,
             boolean isProxyAuthenticationByJvmProperties,
             boolean synchronousFetchOnInitialisation,
+            boolean concurrentInitialisation,
             UnleashFeatureFetcherFactory unleashFeatureFetcherFactory,
             MetricSenderFactory metricSenderFactory,
             @Nullable UnleashScheduledExecutor unleashScheduledExecutor,
             @Nullable UnleashSubscriber unleashSubscriber,
+            int eventBufferCapacity,
+            EventOverflowPolicy eventOverflowPolicy,
             @Nullable Strategy fallbackStrategy,
             @Nullable ToggleBootstrapProvider unleashBootstrapProvider,
             @Nullable Proxy proxy,
@@ -126,6 +143,11 @@ public class UnleashConfig {
             throw new IllegalStateException("You are required to specify a subscriber");
         }
 
+        if (synchronousFetchOnInitialisation && concurrentInitialisation) {
+            throw new IllegalStateException(
+                    "synchronousFetchOnInitialisation can't be combined with concurrentInitialisation, wait for Unleash.readyFuture() instead");
+        }
+
         if (fallbackStrategy != null) {
             this.fallbackStrategy = fallbackStrategy;
         }
@@ -146,6 +168,8 @@ public class UnleashConfig {
         this.connectionId = connectionId;
         this.sdkVersion = sdkVersion;
         this.backupFile = backupFile;
+        this.backupWriteInterval = backupWriteInterval;
+        this.backupSnapshotFormat = backupSnapshotFormat;
         this.projectName = projectName;
         this.namePrefix = namePrefix;
         this.fetchTogglesInterval = fetchTogglesInterval;
@@ -156,11 +180,19 @@ public class UnleashConfig {
         this.sendMetricsConnectTimeout = sendMetricsConnectTimeout;
         this.sendMetricsReadTimeout = sendMetricsReadTimeout;
         this.disableMetrics = disableMetrics;
+        this.fetchTogglesCompression = fetchTogglesCompression;
+        this.sendMetricsCompression = sendMetricsCompression;
         this.contextProvider = contextProvider;
         this.isProxyAuthenticationByJvmProperties = isProxyAuthenticationByJvmProperties;
         this.synchronousFetchOnInitialisation = synchronousFetchOnInitialisation;
+        this.concurrentInitialisation = concurrentInitialisation;
         this.unleashScheduledExecutor = unleashScheduledExecutor;
         this.unleashSubscriber = unleashSubscriber;
+        this.eventRingBuffer =
+                eventBufferCapacity > 0
+                        ? new EventRingBuffer(
+                                unleashSubscriber, eventBufferCapacity, eventOverflowPolicy)
+                        : null;
         this.toggleBootstrapProvider = unleashBootstrapProvider;
         this.proxy = proxy;
         this.unleashFeatureFetcherFactory = unleashFeatureFetcherFactory;
@@ -175,16 +207,24 @@ public class UnleashConfig {
     }
 
     public static void setRequestProperties(HttpURLConnection connection, UnleashConfig config) {
-        connection.setRequestProperty(UNLEASH_APP_NAME_HEADER, config.getAppName());
-        connection.setRequestProperty(UNLEASH_INSTANCE_ID_HEADER, config.getInstanceId());
-        connection.setRequestProperty(UNLEASH_SDK_HEADER, config.getSdkVersion());
-        connection.setRequestProperty("User-Agent", config.getAppName());
-        connection.setRequestProperty(
-                "Unleash-Client-Spec", config.getClientSpecificationVersion());
-        config.getCustomHttpHeaders().forEach(connection::setRequestProperty);
-        config.customHttpHeadersProvider.getCustomHeaders().forEach(connection::setRequestProperty);
+        setRequestProperties(connection::setRequestProperty, config);
+    }
+
+    public static void setRequestProperties(HttpRequest.Builder request, UnleashConfig config) {
+        setRequestProperties(request::setHeader, config);
+    }
+
+    private static void setRequestProperties(
+            BiConsumer<String, String> header, UnleashConfig config) {
+        header.accept(UNLEASH_APP_NAME_HEADER, config.getAppName());
+        header.accept(UNLEASH_INSTANCE_ID_HEADER, config.getInstanceId());
+        header.accept(UNLEASH_SDK_HEADER, config.getSdkVersion());
+        header.accept("User-Agent", config.getAppName());
+        header.accept("Unleash-Client-Spec", config.getClientSpecificationVersion());
+        config.getCustomHttpHeaders().forEach(header);
+        config.customHttpHeadersProvider.getCustomHeaders().forEach(header);
         // prevent overwrite
-        connection.setRequestProperty(UNLEASH_CONNECTION_ID_HEADER, config.getConnectionId());
+        header.accept(UNLEASH_CONNECTION_ID_HEADER, config.getConnectionId());
     }
 
     private void enableProxyAuthentication() {
@@ -277,10 +317,26 @@ public class UnleashConfig {
         return disableMetrics;
     }
 
+    public boolean isFetchTogglesCompression() {
+        return fetchTogglesCompression;
+    }
+
+    public boolean isSendMetricsCompression() {
+        return sendMetricsCompression;
+    }
+
     public String getBackupFile() {
         return this.backupFile;
     }
 
+    public Duration getBackupWriteInterval() {
+        return this.backupWriteInterval;
+    }
+
+    public boolean isBackupSnapshotFormat() {
+        return this.backupSnapshotFormat;
+    }
+
     @Nullable
     public String getApiKey() {
         String auth = this.customHttpHeadersProvider.getCustomHeaders().get("Authorization");
@@ -308,6 +364,10 @@ public class UnleashConfig {
         return synchronousFetchOnInitialisation;
     }
 
+    public boolean isConcurrentInitialisation() {
+        return concurrentInitialisation;
+    }
+
     public UnleashContextProvider getContextProvider() {
         return contextProvider;
     }
@@ -320,6 +380,16 @@ public class UnleashConfig {
         return unleashSubscriber;
     }
 
+    /**
+     * @return the bounded event pipeline shared by every {@link
+     *     io.getunleash.event.EventDispatcher} created from this config, or null when events go
+     *     through the scheduled executor
+     */
+    @Nullable
+    public EventRingBuffer getEventRingBuffer() {
+        return eventRingBuffer;
+    }
+
     public boolean isProxyAuthenticationByJvmProperties() {
         return isProxyAuthenticationByJvmProperties;
     }
@@ -423,6 +493,8 @@ public class UnleashConfig {
         private String connectionId = getDefaultConnectionId();
         private final String sdkVersion = getDefaultSdkVersion();
         private @Nullable String backupFile;
+        private Duration backupWriteInterval = Duration.ZERO;
+        private boolean backupSnapshotFormat = false;
         private @Nullable String projectName;
         private @Nullable String namePrefix;
         private long fetchTogglesInterval = 15;
@@ -438,14 +510,19 @@ public class UnleashConfig {
 
         private Duration sendMetricsReadTimeout = Duration.ofSeconds(10);
         private boolean disableMetrics = false;
+        private boolean fetchTogglesCompression = true;
+        private boolean sendMetricsCompression = false;
         private UnleashFeatureFetcherFactory unleashFeatureFetcherFactory = HttpFeatureFetcher::new;
 
         private MetricSenderFactory unleashMetricSenderFactory = DefaultHttpMetricsSender::new;
         private UnleashContextProvider contextProvider =
                 UnleashContextProvider.getDefaultProvider();
         private boolean synchronousFetchOnInitialisation = false;
+        private boolean concurrentInitialisation = false;
         private @Nullable UnleashScheduledExecutor scheduledExecutor;
         private @Nullable UnleashSubscriber unleashSubscriber;
+        private int eventBufferCapacity = 0;
+        private EventOverflowPolicy eventOverflowPolicy = EventOverflowPolicy.DROP_OLDEST;
         private boolean isProxyAuthenticationByJvmProperties;
         private @Nullable Strategy fallbackStrategy;
         private @Nullable ToggleBootstrapProvider toggleBootstrapProvider;
@@ -595,11 +672,62 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Ask the server for gzip or deflate compressed toggle payloads. Enabled by default; the
+         * server decides whether to compress, and uncompressed responses are still accepted.
+         *
+         * @param enable whether to send {@code Accept-Encoding: gzip, deflate}
+         * @return this
+         */
+        public Builder fetchTogglesCompression(boolean enable) {
+            this.fetchTogglesCompression = enable;
+            return this;
+        }
+
+        /**
+         * Gzip the request bodies sent to {@code /client/register} and {@code /client/metrics}.
+         * Disabled by default, only enable it if the server or proxy in front of it accepts {@code
+         * Content-Encoding: gzip} requests.
+         *
+         * @param enable whether to compress client registration and metrics uploads
+         * @return this
+         */
+        public Builder sendMetricsCompression(boolean enable) {
+            this.sendMetricsCompression = enable;
+            return this;
+        }
+
         public Builder backupFile(String backupFile) {
             this.backupFile = backupFile;
             return this;
         }
 
+        /**
+         * Minimum time between two writes of the backup file. Backups are written on a background
+         * thread and only the latest state is kept while waiting, so a burst of updates costs a
+         * single write. Defaults to zero, i.e. write as soon as the previous write is done.
+         *
+         * @param backupWriteInterval minimum time between backup writes
+         * @return this
+         */
+        public Builder backupWriteInterval(Duration backupWriteInterval) {
+            this.backupWriteInterval = backupWriteInterval;
+            return this;
+        }
+
+        /**
+         * Write the backup file as a gzipped snapshot with a checksummed header instead of plain
+         * JSON. Reading detects the format by itself, so this can be switched either way without
+         * losing the existing backup. Bootstrap files may use the snapshot format too.
+         *
+         * @param enable whether to write backups in the snapshot format
+         * @return this
+         */
+        public Builder backupSnapshotFormat(boolean enable) {
+            this.backupSnapshotFormat = enable;
+            return this;
+        }
+
         public Builder enableProxyAuthenticationByJvmProperties() {
             this.isProxyAuthenticationByJvmProperties = true;
             return this;
@@ -615,6 +743,21 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Start the first fetch before reading the backup or bootstrap, instead of after it. The
+         * client is ready as soon as either state has been taken, and a fetched state is never
+         * replaced by the older one from disk. Can't be combined with {@link
+         * #synchronousFetchOnInitialisation(boolean)}, wait for {@link
+         * io.getunleash.Unleash#readyFuture()} instead.
+         *
+         * @param enable whether to fetch and restore concurrently at startup
+         * @return this
+         */
+        public Builder concurrentInitialisation(boolean enable) {
+            this.concurrentInitialisation = enable;
+            return this;
+        }
+
         public Builder scheduledExecutor(UnleashScheduledExecutor scheduledExecutor) {
             this.scheduledExecutor = scheduledExecutor;
             return this;
@@ -625,6 +768,23 @@ public class UnleashConfig {
             return this;
         }
 
+        /**
+         * Deliver events through a bounded, lock-free ring buffer drained by a dedicated thread,
+         * instead of scheduling one task per event on the scheduled executor. Recommended when
+         * subscribers listen to {@link io.getunleash.event.ToggleEvaluated} under high load.
+         *
+         * @param capacity maximum number of queued events, rounded up to a power of two, between 2
+         *     and {@link EventRingBuffer#MAX_CAPACITY}
+         * @param overflowPolicy what to do with new events when the buffer is full
+         * @return this
+         */
+        public Builder eventRingBuffer(int capacity, EventOverflowPolicy overflowPolicy) {
+            EventRingBuffer.checkCapacity(capacity);
+            this.eventBufferCapacity = capacity;
+            this.eventOverflowPolicy = overflowPolicy;
+            return this;
+        }
+
         public Builder fallbackStrategy(@Nullable Strategy fallbackStrategy) {
             this.fallbackStrategy = fallbackStrategy;
             return this;
@@ -712,6 +872,8 @@ public class UnleashConfig {
                     connectionId,
                     sdkVersion,
                     getBackupFile(),
+                    backupWriteInterval,
+                    backupSnapshotFormat,
                     projectName,
                     namePrefix,
                     fetchTogglesInterval,
@@ -722,14 +884,19 @@ public class UnleashConfig {
                     sendMetricsConnectTimeout,
                     sendMetricsReadTimeout,
                     disableMetrics,
+                    fetchTogglesCompression,
+                    sendMetricsCompression,
                     contextProvider,
                     isProxyAuthenticationByJvmProperties,
                     synchronousFetchOnInitialisation,
+                    concurrentInitialisation,
                     unleashFeatureFetcherFactory,
                     unleashMetricSenderFactory,
                     Optional.ofNullable(scheduledExecutor)
                             .orElseGet(UnleashScheduledExecutorImpl::getInstance),
                     Optional.ofNullable(unleashSubscriber).orElseGet(NoOpSubscriber::new),
+                    eventBufferCapacity,
+                    eventOverflowPolicy,
                     fallbackStrategy,
                     toggleBootstrapProvider,
                     proxy,
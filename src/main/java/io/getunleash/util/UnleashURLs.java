@@ -9,6 +9,8 @@ public class UnleashURLs {
     private final URL fetchTogglesURL;
     private final URL clientMetricsURL;
     private final URL clientRegisterURL;
+    private final URL clientStreamingURL;
+    private final URL fetchDeltaURL;
 
     public UnleashURLs(URI unleashAPI) {
         try {
@@ -16,6 +18,9 @@ public class UnleashURLs {
             fetchTogglesURL = URI.create(unleashAPIstr + "/client/features").normalize().toURL();
             clientMetricsURL = URI.create(unleashAPIstr + "/client/metrics").normalize().toURL();
             clientRegisterURL = URI.create(unleashAPIstr + "/client/register").normalize().toURL();
+            clientStreamingURL =
+                    URI.create(unleashAPIstr + "/client/streaming").normalize().toURL();
+            fetchDeltaURL = URI.create(unleashAPIstr + "/client/delta").normalize().toURL();
 
         } catch (MalformedURLException ex) {
             throw new IllegalArgumentException("Unleash API is not a valid URL: " + unleashAPI);
@@ -34,16 +39,33 @@ public class UnleashURLs {
         return clientRegisterURL;
     }
 
+    public URL getClientStreamingURL() {
+        return clientStreamingURL;
+    }
+
+    public URL getFetchDeltaURL() {
+        return fetchDeltaURL;
+    }
+
     public URL getFetchTogglesURL(@Nullable String projectName, @Nullable String namePrefix) {
+        return withFilters("fetchTogglesURL", fetchTogglesURL, projectName, namePrefix);
+    }
+
+    public URL getFetchDeltaURL(@Nullable String projectName, @Nullable String namePrefix) {
+        return withFilters("fetchDeltaURL", fetchDeltaURL, projectName, namePrefix);
+    }
+
+    private URL withFilters(
+            String name, URL url, @Nullable String projectName, @Nullable String namePrefix) {
         StringBuilder suffix = new StringBuilder();
         appendParam(suffix, "project", projectName);
         appendParam(suffix, "namePrefix", namePrefix);
 
         try {
-            return URI.create(fetchTogglesURL + suffix.toString()).normalize().toURL();
+            return URI.create(url + suffix.toString()).normalize().toURL();
         } catch (IllegalArgumentException | MalformedURLException e) {
             throw new IllegalArgumentException(
-                    "fetchTogglesURL [" + fetchTogglesURL + suffix + "] was not URL friendly.", e);
+                    name + " [" + url + suffix + "] was not URL friendly.", e);
         }
     }
 
@@ -0,0 +1,149 @@
+package io.getunleash.variant;
+
+import io.getunleash.lang.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of decoded variant payloads. Entries are keyed on the raw payload together with the
+ * target type and decoder, so a payload that is unchanged between feature updates is only decoded
+ * once, while a changed payload is simply a new key.
+ *
+ * <p>Each client owns one cache, which the variants it returns decode through. The cache is split
+ * into stripes, each an LRU map with its own lock, so concurrent lookups of different payloads
+ * rarely wait on each other. Eviction is least-recently-used within a stripe.
+ *
+ * <p>Decoded values are shared between callers and should be treated as read-only.
+ */
+public final class PayloadCache {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final int MAX_STRIPES = 16;
+    // Below this many entries per stripe, striping would make eviction noticeably less accurate.
+    private static final int MIN_STRIPE_CAPACITY = 64;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    public PayloadCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int count =
+                Math.min(
+                        MAX_STRIPES,
+                        Integer.highestOneBit(Math.max(1, capacity / MIN_STRIPE_CAPACITY)));
+        this.stripes = new Stripe[count];
+        int perStripe = (capacity + count - 1) / count;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.mask = count - 1;
+    }
+
+    /**
+     * @return the decoded payload, or null if the decoder returned null
+     */
+    @Nullable
+    public <T> T get(Payload payload, Class<T> type, Function<String, ? extends T> decoder) {
+        String value = payload.getValue();
+        if (value == null) {
+            return null;
+        }
+        Key key = new Key(payload.getType(), value, type, decoder);
+        Stripe stripe = stripes[spread(key.hash) & mask];
+        Object cached = stripe.get(key);
+        if (cached != null) {
+            return type.cast(cached);
+        }
+        // Decode outside the lock; a concurrent miss on the same key just decodes twice.
+        T decoded = decoder.apply(value);
+        if (decoded != null) {
+            stripe.put(key, decoded);
+        }
+        return decoded;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        // Access order, so even a lookup updates it; guarded by this.
+        private final LinkedHashMap<Key, Object> entries;
+
+        Stripe(int capacity) {
+            this.entries =
+                    new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                            return size() > capacity;
+                        }
+                    };
+        }
+
+        @Nullable
+        synchronized Object get(Key key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, Object value) {
+            entries.put(key, value);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    private static final class Key {
+        private final String payloadType;
+        private final String value;
+        private final Class<?> type;
+        private final Object decoder;
+        private final int hash;
+
+        Key(String payloadType, String value, Class<?> type, Object decoder) {
+            this.payloadType = payloadType;
+            this.value = value;
+            this.type = type;
+            this.decoder = decoder;
+            this.hash = Objects.hash(payloadType, value, type, decoder);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return type == key.type
+                    && decoder == key.decoder
+                    && Objects.equals(payloadType, key.payloadType)
+                    && value.equals(key.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.getunleash.variant;
 import io.getunleash.lang.Nullable;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 
 public class Variant {
     public static final Variant DISABLED_VARIANT = new Variant("disabled", (String) null, false);
@@ -12,12 +13,32 @@ public class Variant {
     private final boolean enabled;
     @Nullable private final String stickiness;
     private final boolean feature_enabled;
+    // the cache of the client that returned this variant, if any
+    @Nullable private final PayloadCache payloadCache;
 
     public Variant(
             String name, @Nullable Payload payload, boolean enabled, boolean feature_enabled) {
         this(name, payload, enabled, null, feature_enabled);
     }
 
+    /**
+     * As {@link #Variant(String, Payload, boolean, boolean)}, with {@link #getPayloadAs(Class,
+     * Function)} decoding through the given cache.
+     */
+    public Variant(
+            String name,
+            @Nullable Payload payload,
+            boolean enabled,
+            boolean feature_enabled,
+            @Nullable PayloadCache payloadCache) {
+        this.name = name;
+        this.payload = payload;
+        this.enabled = enabled;
+        this.stickiness = null;
+        this.feature_enabled = feature_enabled;
+        this.payloadCache = payloadCache;
+    }
+
     public Variant(
             String name,
             @Nullable Payload payload,
@@ -29,6 +50,7 @@ public class Variant {
         this.enabled = enabled;
         this.stickiness = stickiness;
         this.feature_enabled = feature_enabled;
+        this.payloadCache = null;
     }
 
     public Variant(String name, @Nullable String payload, boolean enabled) {
@@ -46,6 +68,7 @@ public class Variant {
         this.enabled = enabled;
         this.stickiness = stickiness;
         this.feature_enabled = feature_enabled;
+        this.payloadCache = null;
     }
 
     public String getName() {
@@ -56,6 +79,32 @@ public class Variant {
         return Optional.ofNullable(payload);
     }
 
+    /**
+     * Decodes the payload value, e.g. a {@code json} payload into a settings object. For variants
+     * returned by a client, decoded values are cached in that client, so repeated calls for an
+     * unchanged payload don't decode it again. The decoder should be a shared instance (a constant
+     * or a non-capturing lambda) for the cache to hit, and the returned object should be treated as
+     * read-only. Variants created directly decode on every call.
+     */
+    public <T> Optional<T> getPayloadAs(Class<T> type, Function<String, ? extends T> decoder) {
+        if (payloadCache != null) {
+            return getPayloadAs(type, decoder, payloadCache);
+        }
+        if (payload == null || payload.getValue() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(decoder.apply(payload.getValue()));
+    }
+
+    /** As {@link #getPayloadAs(Class, Function)}, using the given cache. */
+    public <T> Optional<T> getPayloadAs(
+            Class<T> type, Function<String, ? extends T> decoder, PayloadCache cache) {
+        if (payload == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(payload, type, decoder));
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
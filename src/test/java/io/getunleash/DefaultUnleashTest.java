@@ -5,6 +5,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
@@ -15,11 +16,13 @@ import ch.qos.logback.core.read.ListAppender;
 import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.ToggleEvaluated;
 import io.getunleash.event.UnleashReady;
 import io.getunleash.event.UnleashSubscriber;
 import io.getunleash.repository.*;
 import io.getunleash.strategy.Strategy;
 import io.getunleash.util.UnleashConfig;
+import io.getunleash.variant.Variant;
 import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -99,6 +102,151 @@ class DefaultUnleashTest {
 
         assertThat(t1.getName()).isEqualTo("featureX");
         assertThat(t1.isEnabled()).isTrue();
+        assertThat(t1.getStateGeneration()).isEqualTo(unleash.more().getStateGeneration());
+        assertThat(unleash.more().getStateGeneration()).isPositive();
+    }
+
+    @Test
+    public void feature_toggle_names_can_be_sorted_by_the_caller() {
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .disablePolling()
+                        .toggleBootstrapProvider(
+                                () -> Optional.of(loadMockFeatures("unleash-repo-v2.json")))
+                        .build();
+        Unleash unleash = new DefaultUnleash(unleashConfig);
+
+        List<String> names = unleash.more().getFeatureToggleNames();
+        names.sort(Comparator.reverseOrder());
+        names.add("local");
+
+        assertThat(unleash.more().getFeatureToggleNames()).doesNotContain("local");
+    }
+
+    @Test
+    public void should_evaluate_all_toggles_in_repository_order() {
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .toggleBootstrapProvider(
+                                () -> Optional.of(loadMockFeatures("unleash-repo-v2.json")))
+                        .build();
+
+        Unleash unleash = new DefaultUnleash(unleashConfig);
+        List<EvaluatedToggle> toggles = unleash.more().evaluateAllToggles();
+
+        assertThat(toggles)
+                .extracting(EvaluatedToggle::getName)
+                .containsExactlyElementsOf(unleash.more().getFeatureToggleNames());
+        assertThat(toggles.stream().filter(t -> t.getName().equals("featureX")).findFirst())
+                .hasValueSatisfying(t -> assertThat(t.isEnabled()).isTrue());
+    }
+
+    @Test
+    public void should_evaluate_many_toggles_against_one_context() {
+        List<String> evaluated = new ArrayList<>();
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .disablePolling()
+                        .scheduledExecutor(new SynchronousTestExecutor())
+                        .subscriber(
+                                new UnleashSubscriber() {
+                                    @Override
+                                    public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+                                        evaluated.add(toggleEvaluated.getToggleName());
+                                    }
+                                })
+                        .toggleBootstrapProvider(
+                                () -> Optional.of(loadMockFeatures("unleash-repo-v2.json")))
+                        .build();
+        Unleash unleash = new DefaultUnleash(unleashConfig);
+        UnleashContext context = UnleashContext.builder().userId("123").build();
+
+        Map<String, Boolean> enabled =
+                unleash.isEnabled(Arrays.asList("featureX", "featureY", "unknown"), context);
+        Map<String, Variant> variants =
+                unleash.getVariants(Arrays.asList("featureX", "unknown"), context);
+
+        assertThat(enabled)
+                .containsExactly(
+                        entry("featureX", true), entry("featureY", false), entry("unknown", false));
+        assertThat(variants.keySet()).containsExactly("featureX", "unknown");
+        assertThat(variants.get("featureX").isFeatureEnabled()).isTrue();
+        assertThat(variants.get("unknown")).isEqualTo(Variant.DISABLED_VARIANT);
+        assertThat(evaluated)
+                .containsExactly("featureX", "featureY", "unknown", "featureX", "unknown");
+    }
+
+    @Test
+    public void toggle_handles_are_reused_and_evaluate_like_named_calls() {
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .disablePolling()
+                        .toggleBootstrapProvider(
+                                () -> Optional.of(loadMockFeatures("unleash-repo-v2.json")))
+                        .build();
+        Unleash unleash = new DefaultUnleash(unleashConfig);
+        UnleashContext context = UnleashContext.builder().userId("123").build();
+
+        ToggleHandle featureX = unleash.toggle("featureX");
+        ToggleHandle unknown = unleash.toggle("unknown");
+
+        assertThat(featureX.getName()).isEqualTo("featureX");
+        assertThat(featureX.isEnabled(context)).isTrue();
+        assertThat(featureX.getVariant(context).isFeatureEnabled()).isTrue();
+        assertThat(unknown.isEnabled(context)).isFalse();
+        assertThat(unknown.isEnabled(context, true)).isTrue();
+        assertThat(unknown.getVariant(context)).isEqualTo(Variant.DISABLED_VARIANT);
+    }
+
+    @Test
+    public void toggle_handle_answers_constant_toggles_without_the_engine_until_state_changes() {
+        UnleashConfig unleashConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://fakeAPI")
+                        .appName("fakeApp")
+                        .disablePolling()
+                        .disableMetrics()
+                        .toggleBootstrapProvider(
+                                () ->
+                                        Optional.of(
+                                                "{\"version\":2,\"features\":[{\"name\":\"always\","
+                                                        + "\"enabled\":true,\"strategies\":[]}]}"))
+                        .build();
+        EngineProxyImpl proxy = spy(new EngineProxyImpl(unleashConfig));
+        Unleash unleash =
+                new DefaultUnleash(
+                        unleashConfig,
+                        proxy,
+                        unleashConfig.getContextProvider(),
+                        new EventDispatcher(unleashConfig));
+        ToggleHandle always = unleash.toggle("always");
+        UnleashContext context = UnleashContext.builder().userId("123").build();
+
+        assertThat(always.isEnabled(context)).isTrue();
+        assertThat(always.isEnabled(context)).isTrue();
+        verify(proxy, times(1)).getConstant("always");
+        verify(proxy, never()).isEnabled(anyString(), any(UnleashContext.class));
+
+        doReturn(proxy.getStateGeneration() + 1).when(proxy).getStateGeneration();
+        assertThat(always.isEnabled(context)).isTrue();
+        verify(proxy, times(2)).getConstant("always");
+
+        assertThat(
+                        proxy.featureRepository
+                                .getConstantToggles()
+                                .mergeInto(null)
+                                .getToggles()
+                                .get("always")
+                                .getYes())
+                .isEqualTo(3);
     }
 
     @Test
@@ -294,6 +442,7 @@ class DefaultUnleashTest {
     public void asynchronous_fetch_on_initialisation_fails_silently_and_retries()
             throws InterruptedException {
         FeatureFetcher fetcher = mock(FeatureFetcher.class);
+        when(fetcher.fetchFeaturesAsync()).thenCallRealMethod();
         when(fetcher.fetchFeatures())
                 .thenThrow(UnleashException.class)
                 .thenReturn(ClientFeaturesResponse.updated("doesn't matter for this test"));
@@ -3,6 +3,7 @@ package io.getunleash;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.getunleash.variant.Variant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -348,4 +349,17 @@ public class FakeUnleashTest {
                                 "my.feature.that.should.be.disabled", (name, context) -> false))
                 .isFalse();
     }
+
+    @Test
+    public void watching_toggles_is_a_no_op() {
+        FakeUnleash fakeUnleash = new FakeUnleash();
+        List<Object> calls = new ArrayList<>();
+        ToggleChangeListener listener = calls::add;
+
+        fakeUnleash.more().watch("t1", listener);
+        fakeUnleash.enable("t1");
+        fakeUnleash.more().unwatch("t1", listener);
+
+        assertThat(calls).isEmpty();
+    }
 }
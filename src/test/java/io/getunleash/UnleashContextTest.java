@@ -3,7 +3,11 @@ package io.getunleash;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.data.MapEntry.entry;
 
+import io.getunleash.engine.Context;
 import io.getunleash.util.UnleashConfig;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -99,6 +103,71 @@ public class UnleashContextTest {
         assertThat(enhanced.getAppName()).hasValue("myApp");
     }
 
+    @Test
+    public void should_return_same_context_when_static_fields_are_set() {
+        UnleashContext context =
+                UnleashContext.builder().environment("env").appName("myApp").build();
+
+        UnleashConfig config =
+                UnleashConfig.builder().unleashAPI("http://test.com").appName("someApp").build();
+
+        assertThat(context.applyStaticFields(config)).isSameAs(context);
+    }
+
+    @Test
+    public void should_reuse_enriched_context_for_same_config() {
+        UnleashContext context =
+                UnleashContext.builder().userId("test@mail.com").addProperty("test", "me").build();
+
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("someApp")
+                        .environment("stage")
+                        .build();
+        UnleashConfig otherConfig =
+                UnleashConfig.builder()
+                        .unleashAPI("http://test.com")
+                        .appName("otherApp")
+                        .environment("stage")
+                        .build();
+
+        UnleashContext enhanced = context.applyStaticFields(config);
+
+        assertThat(context.applyStaticFields(config)).isSameAs(enhanced);
+        assertThat(enhanced.applyStaticFields(config)).isSameAs(enhanced);
+        assertThat(enhanced.getProperties()).containsExactly(entry("test", "me"));
+        assertThat(context.applyStaticFields(otherConfig).getAppName()).hasValue("otherApp");
+    }
+
+    @Test
+    public void should_translate_engine_context_once() {
+        UnleashContext context =
+                UnleashContext.builder()
+                        .userId("test@mail.com")
+                        .currentTime(ZonedDateTime.of(2024, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC))
+                        .addProperty("test", "me")
+                        .build();
+
+        Context engineContext = context.getEngineContext();
+
+        assertThat(context.getEngineContext()).isSameAs(engineContext);
+        assertThat(engineContext.getUserId()).isEqualTo("test@mail.com");
+        assertThat(engineContext.getCurrentTime()).isEqualTo("2024-01-02T03:04:05Z");
+        assertThat(engineContext.getProperties()).containsExactly(entry("test", "me"));
+    }
+
+    @Test
+    public void should_report_wall_clock_when_no_current_time_is_set() throws Exception {
+        Context engineContext = UnleashContext.builder().build().getEngineContext();
+
+        Instant first = Instant.parse(engineContext.getCurrentTime());
+        Thread.sleep(5);
+        Instant second = Instant.parse(engineContext.getCurrentTime());
+
+        assertThat(second).isAfter(first);
+    }
+
     @Nested
     class BuilderTest {
 
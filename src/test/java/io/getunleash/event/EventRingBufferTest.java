@@ -0,0 +1,175 @@
+package io.getunleash.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.getunleash.util.UnleashConfig;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+public class EventRingBufferTest {
+
+    @Test
+    public void capacity_is_rounded_up_to_power_of_two() {
+        EventRingBuffer buffer =
+                new EventRingBuffer(new NoOpSubscriber(), 100, EventOverflowPolicy.DROP_NEWEST);
+
+        assertThat(buffer.getCapacity()).isEqualTo(128);
+    }
+
+    @Test
+    public void rejects_capacity_that_cannot_be_rounded_up() {
+        assertThatThrownBy(
+                        () ->
+                                new EventRingBuffer(
+                                        new NoOpSubscriber(),
+                                        EventRingBuffer.MAX_CAPACITY + 1,
+                                        EventOverflowPolicy.DROP_NEWEST))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(
+                        () ->
+                                UnleashConfig.builder()
+                                        .eventRingBuffer(
+                                                Integer.MAX_VALUE, EventOverflowPolicy.BLOCK))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void blocking_publish_from_subscriber_does_not_deadlock() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        EventRingBuffer[] buffer = new EventRingBuffer[1];
+        UnleashSubscriber republishing =
+                new UnleashSubscriber() {
+                    @Override
+                    public void on(UnleashEvent event) {
+                        if (event instanceof ToggleEvaluated
+                                && ((ToggleEvaluated) event).getToggleName().equals("first")) {
+                            // more than fits in the buffer, published from the consumer thread
+                            for (int i = 0; i < 8; i++) {
+                                buffer[0].publish(new ToggleEvaluated("nested-" + i, true));
+                            }
+                            done.countDown();
+                        }
+                    }
+                };
+        buffer[0] = new EventRingBuffer(republishing, 2, EventOverflowPolicy.BLOCK);
+
+        buffer[0].publish(new ToggleEvaluated("first", true));
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(buffer[0].getDroppedEvents()).isPositive();
+        buffer[0].shutdown();
+    }
+
+    @Test
+    public void drop_newest_keeps_queued_events() {
+        EventRingBuffer buffer =
+                new EventRingBuffer(new NoOpSubscriber(), 4, EventOverflowPolicy.DROP_NEWEST);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(new ToggleEvaluated("toggle-" + i, true))).isTrue();
+        }
+
+        assertThat(buffer.offer(new ToggleEvaluated("overflow", true))).isFalse();
+        assertThat(((ToggleEvaluated) buffer.poll()).getToggleName()).isEqualTo("toggle-0");
+    }
+
+    @Test
+    public void drop_oldest_evicts_head_of_buffer() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        UnleashSubscriber blockingSubscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        received.add(toggleEvaluated.getToggleName());
+                    }
+                };
+        EventRingBuffer buffer =
+                new EventRingBuffer(blockingSubscriber, 2, EventOverflowPolicy.DROP_OLDEST);
+
+        buffer.publish(new ToggleEvaluated("in-flight", true));
+        waitUntil(() -> buffer.size() == 0);
+        buffer.publish(new ToggleEvaluated("a", true));
+        buffer.publish(new ToggleEvaluated("b", true));
+        buffer.publish(new ToggleEvaluated("c", true));
+        release.countDown();
+
+        waitUntil(() -> received.size() == 3);
+        assertThat(received).containsExactly("in-flight", "b", "c");
+        assertThat(buffer.getDroppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    public void delivers_all_events_from_concurrent_producers_when_blocking() throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        UnleashSubscriber subscriber =
+                new UnleashSubscriber() {
+                    @Override
+                    public void toggleEvaluated(ToggleEvaluated toggleEvaluated) {
+                        received.add(toggleEvaluated.getToggleName());
+                    }
+                };
+        EventRingBuffer buffer = new EventRingBuffer(subscriber, 8, EventOverflowPolicy.BLOCK);
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            Thread producer =
+                    new Thread(
+                            () -> {
+                                for (int i = 0; i < 1000; i++) {
+                                    buffer.publish(new ToggleEvaluated("toggle", true));
+                                }
+                            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        waitUntil(() -> received.size() == 4000);
+        assertThat(buffer.getDroppedEvents()).isZero();
+        assertThat(buffer.getDeliveredEvents()).isEqualTo(4000);
+    }
+
+    @Test
+    public void dispatcher_uses_ring_buffer_from_config() throws InterruptedException {
+        List<UnleashEvent> received = Collections.synchronizedList(new ArrayList<>());
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242")
+                        .subscriber(
+                                new UnleashSubscriber() {
+                                    @Override
+                                    public void on(UnleashEvent unleashEvent) {
+                                        received.add(unleashEvent);
+                                    }
+                                })
+                        .eventRingBuffer(16, EventOverflowPolicy.DROP_NEWEST)
+                        .build();
+
+        new EventDispatcher(config).dispatch(new ToggleEvaluated("toggle", true));
+
+        waitUntil(() -> config.getEventRingBuffer().getDeliveredEvents() == 1);
+        assertThat(received).hasSize(1);
+        config.getEventRingBuffer().shutdown();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
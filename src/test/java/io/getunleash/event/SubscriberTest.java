@@ -79,6 +79,54 @@ public class SubscriberTest {
                 .hasSize(1);
     }
 
+    @Test
+    void interestIsDetectedFromOverriddenCallbacks() {
+        UnleashSubscriber fetchOnly =
+                new UnleashSubscriber() {
+                    @Override
+                    public void togglesFetched(ClientFeaturesResponse toggleResponse) {}
+                };
+
+        assertThat(fetchOnly.isInterestedIn(ClientFeaturesResponse.class)).isTrue();
+        assertThat(fetchOnly.isInterestedIn(ToggleEvaluated.class)).isFalse();
+        assertThat(fetchOnly.isInterestedIn(IsEnabledImpressionEvent.class)).isFalse();
+        assertThat(fetchOnly.isInterestedIn(UnleashException.class)).isTrue();
+        assertThat(new NoOpSubscriber().isInterestedIn(ToggleEvaluated.class)).isFalse();
+        assertThat(new Log4JSubscriber().isInterestedIn(ToggleEvaluated.class)).isTrue();
+        assertThat(testSubscriber.isInterestedIn(VariantImpressionEvent.class)).isTrue();
+    }
+
+    @Test
+    void uninterestingEventsAreNotDispatched() {
+        List<UnleashEvent> received = new ArrayList<>();
+        UnleashSubscriber readyOnly =
+                new UnleashSubscriber() {
+                    @Override
+                    public void onReady(UnleashReady unleashReady) {
+                        received.add(unleashReady);
+                    }
+
+                    @Override
+                    public boolean isInterestedIn(Class<? extends UnleashEvent> eventType) {
+                        return eventType == UnleashReady.class;
+                    }
+                };
+        EventDispatcher dispatcher =
+                new EventDispatcher(
+                        new UnleashConfig.Builder()
+                                .appName(SubscriberTest.class.getSimpleName())
+                                .unleashAPI("http://localhost:" + serverMock.getPort())
+                                .subscriber(readyOnly)
+                                .scheduledExecutor(new SynchronousTestExecutor())
+                                .build());
+
+        dispatcher.dispatch(new ToggleEvaluated("myFeature", true));
+        dispatcher.dispatch(new UnleashReady());
+
+        assertThat(dispatcher.isInterestedIn(ToggleEvaluated.class)).isFalse();
+        assertThat(received).hasSize(1);
+    }
+
     private class TestSubscriber implements UnleashSubscriber {
 
         private int togglesFetchedCounter;
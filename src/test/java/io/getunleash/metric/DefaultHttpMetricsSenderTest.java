@@ -1,6 +1,7 @@
 package io.getunleash.metric;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.matching;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
@@ -108,4 +109,44 @@ public class DefaultHttpMetricsSenderTest {
                         .withHeader(UNLEASH_INTERVAL, matching(String.valueOf(metricsInterval)))
                         .withHeader("UNLEASH-APPNAME", matching("test-app")));
     }
+
+    @Test
+    public void should_gzip_metrics_when_enabled() throws URISyntaxException {
+        stubFor(post(urlEqualTo("/client/metrics")).willReturn(aResponse().withStatus(200)));
+
+        URI uri = new URI("http://localhost:" + serverMock.getPort());
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test-app")
+                        .unleashAPI(uri)
+                        .sendMetricsCompression(true)
+                        .build();
+
+        DefaultHttpMetricsSender sender = new DefaultHttpMetricsSender(config);
+        MetricsBucket bucket = new MetricsBucket(Instant.now(), Instant.now(), null);
+        sender.sendMetrics(new ClientMetrics(config, bucket));
+
+        // WireMock inflates gzip request bodies before matching them.
+        verify(
+                postRequestedFor(urlMatching("/client/metrics"))
+                        .withHeader("Content-Encoding", equalTo("gzip"))
+                        .withRequestBody(matching(".*appName.*"))
+                        .withRequestBody(matching(".*bucket.*")));
+    }
+
+    @Test
+    public void should_not_gzip_client_registration_by_default() throws URISyntaxException {
+        stubFor(post(urlEqualTo("/client/register")).willReturn(aResponse().withStatus(200)));
+
+        URI uri = new URI("http://localhost:" + serverMock.getPort());
+        UnleashConfig config = UnleashConfig.builder().appName("test-app").unleashAPI(uri).build();
+
+        DefaultHttpMetricsSender sender = new DefaultHttpMetricsSender(config);
+        sender.registerClient(new ClientRegistration(config, LocalDateTime.now(), new HashSet<>()));
+
+        verify(
+                postRequestedFor(urlMatching("/client/register"))
+                        .withoutHeader("Content-Encoding")
+                        .withRequestBody(matching(".*appName.*")));
+    }
 }
@@ -0,0 +1,106 @@
+package io.getunleash.metric;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.getunleash.util.UnleashConfig.UNLEASH_CONNECTION_ID_HEADER;
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.engine.MetricsBucket;
+import io.getunleash.util.JavaHttpClientConfigurer;
+import io.getunleash.util.UnleashConfig;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class JavaHttpMetricsSenderTest {
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    private UnleashConfig.Builder configBuilder() {
+        return UnleashConfig.builder()
+                .appName("test-app")
+                .unleashAPI("http://localhost:" + serverMock.getPort());
+    }
+
+    @Test
+    public void should_send_client_registration() {
+        stubFor(post(urlEqualTo("/client/register")).willReturn(aResponse().withStatus(202)));
+        UnleashConfig config = configBuilder().build();
+
+        int status =
+                new JavaHttpMetricsSender(config)
+                        .registerClient(
+                                new ClientRegistration(
+                                        config, LocalDateTime.now(), new HashSet<>()));
+
+        assertThat(status).isEqualTo(202);
+        verify(
+                postRequestedFor(urlEqualTo("/client/register"))
+                        .withRequestBody(matching(".*appName.*"))
+                        .withHeader(UNLEASH_CONNECTION_ID_HEADER, equalTo(config.getConnectionId()))
+                        .withHeader("UNLEASH-APPNAME", equalTo("test-app"))
+                        .withHeader("Content-Encoding", absent()));
+    }
+
+    @Test
+    public void should_send_gzipped_client_metrics_when_enabled() {
+        stubFor(post(urlEqualTo("/client/metrics")).willReturn(aResponse().withStatus(200)));
+        UnleashConfig config = configBuilder().sendMetricsCompression(true).build();
+
+        MetricsBucket bucket = new MetricsBucket(Instant.now(), Instant.now(), null);
+        int status =
+                new JavaHttpMetricsSender(config).sendMetrics(new ClientMetrics(config, bucket));
+
+        assertThat(status).isEqualTo(200);
+        verify(
+                postRequestedFor(urlEqualTo("/client/metrics"))
+                        .withRequestBody(matching(".*bucket.*"))
+                        .withHeader(
+                                UNLEASH_INTERVAL, equalTo(config.getSendMetricsIntervalMillis()))
+                        .withHeader("Content-Encoding", equalTo("gzip")));
+    }
+
+    @Test
+    public void should_report_failed_async_posts_as_minus_one() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test-app")
+                        .unleashAPI("http://localhost:1")
+                        .build();
+
+        MetricsBucket bucket = new MetricsBucket(Instant.now(), Instant.now(), null);
+        CompletableFuture<Integer> status =
+                new JavaHttpMetricsSender(config)
+                        .sendMetricsAsync(new ClientMetrics(config, bucket));
+
+        assertThat(status).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo(-1);
+    }
+
+    @Test
+    public void components_from_the_same_config_share_one_client() {
+        UnleashConfig config = configBuilder().build();
+
+        assertThat(JavaHttpClientConfigurer.sharedClient(config))
+                .isSameAs(JavaHttpClientConfigurer.sharedClient(config))
+                .isNotSameAs(JavaHttpClientConfigurer.sharedClient(configBuilder().build()));
+    }
+}
@@ -1,6 +1,7 @@
 package io.getunleash.metric;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 import io.getunleash.engine.Context;
@@ -13,11 +14,19 @@ import io.getunleash.util.UnleashScheduledExecutor;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 public class UnleashMetricServiceImplTest {
 
+    private static DefaultHttpMetricsSender mockSender() {
+        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        // the service sends through the async variant, which by default calls sendMetrics
+        when(sender.sendMetricsAsync(any(ClientMetrics.class))).thenCallRealMethod();
+        return sender;
+    }
+
     @Test
     public void should_register_future_for_sending_interval_regualry() {
         long interval = 10;
@@ -45,7 +54,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
 
         UnleashMetricService unleashMetricService =
                 new UnleashMetricServiceImpl(config, sender, executor, null);
@@ -77,7 +86,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
 
         UnleashMetricService unleashMetricService =
                 new UnleashMetricServiceImpl(config, sender, executor, null);
@@ -103,7 +112,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricService unleashMetricService =
@@ -116,6 +125,65 @@ public class UnleashMetricServiceImplTest {
         verify(sender, times(1)).sendMetrics(any(ClientMetrics.class));
     }
 
+    @Test
+    public void should_not_wait_for_or_overlap_a_slow_metrics_post() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        MetricSender sender = mock(MetricSender.class);
+        CompletableFuture<Integer> inFlight = new CompletableFuture<>();
+        when(sender.sendMetricsAsync(any(ClientMetrics.class)))
+                .thenReturn(inFlight)
+                .thenReturn(CompletableFuture.completedFuture(200));
+        UnleashEngine engine = new UnleashEngine();
+
+        new UnleashMetricServiceImpl(config, sender, executor, engine);
+
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+
+        sendMetricsCallback.getValue().run();
+        sendMetricsCallback.getValue().run();
+        verify(sender, times(1)).sendMetricsAsync(any(ClientMetrics.class));
+
+        inFlight.complete(200);
+        sendMetricsCallback.getValue().run();
+        verify(sender, times(2)).sendMetricsAsync(any(ClientMetrics.class));
+        verify(sender, never()).sendMetrics(any(ClientMetrics.class));
+    }
+
+    @Test
+    public void a_throwing_sender_does_not_stop_later_sends() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .sendMetricsInterval(10)
+                        .unleashAPI("http://unleash.com")
+                        .build();
+
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        DefaultHttpMetricsSender sender = mockSender();
+        when(sender.sendMetrics(any(ClientMetrics.class)))
+                .thenThrow(new IllegalStateException("broken"))
+                .thenReturn(200);
+        UnleashEngine engine = new UnleashEngine();
+
+        new UnleashMetricServiceImpl(config, sender, executor, engine);
+
+        ArgumentCaptor<Runnable> sendMetricsCallback = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).setInterval(sendMetricsCallback.capture(), anyLong(), anyLong());
+
+        assertThatThrownBy(() -> sendMetricsCallback.getValue().run())
+                .isInstanceOf(IllegalStateException.class);
+        sendMetricsCallback.getValue().run();
+        verify(sender, times(2)).sendMetrics(any(ClientMetrics.class));
+    }
+
     @Test
     public void should_record_and_send_metrics()
             throws YggdrasilError, YggdrasilInvalidInputException {
@@ -128,7 +196,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricService unleashMetricService =
@@ -170,7 +238,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -238,7 +306,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -305,7 +373,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -338,7 +406,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricServiceImpl unleashMetricService =
@@ -371,7 +439,7 @@ public class UnleashMetricServiceImplTest {
                         .build();
 
         UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
-        DefaultHttpMetricsSender sender = mock(DefaultHttpMetricsSender.class);
+        DefaultHttpMetricsSender sender = mockSender();
         UnleashEngine engine = new UnleashEngine();
 
         UnleashMetricService unleashMetricService =
@@ -0,0 +1,156 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BackupFileWriterTest {
+    @TempDir Path directory;
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final List<IOException> failures = new CopyOnWriteArrayList<>();
+
+    private BackupFileWriter writer(Path target, Duration interval) {
+        return new BackupFileWriter(
+                target, interval, written::add, (content, e) -> failures.add(e));
+    }
+
+    @Test
+    public void replaces_the_file_and_leaves_no_temporary_files() throws IOException {
+        Path target = directory.resolve("unleash-repo.json");
+        Files.write(target, "previous".getBytes(StandardCharsets.UTF_8));
+        BackupFileWriter writer = writer(target, Duration.ZERO);
+
+        writer.submit("{\"version\":2,\"features\":[]}");
+        writer.flush();
+
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8))
+                .isEqualTo("{\"version\":2,\"features\":[]}");
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.collect(Collectors.toList())).containsExactly(target);
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    public void bursts_within_the_interval_are_coalesced_to_the_latest_state() throws Exception {
+        Path target = directory.resolve("unleash-repo.json");
+        BackupFileWriter writer = writer(target, Duration.ofMillis(300));
+
+        writer.submit("first");
+        waitUntilWritten(1);
+        writer.submit("second");
+        writer.submit("third");
+        writer.submit("fourth");
+        Thread.sleep(100);
+        // still within the interval after the first write
+        assertThat(written).containsExactly("first");
+
+        waitUntilWritten(2);
+        assertThat(written).containsExactly("first", "fourth");
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8))
+                .isEqualTo("fourth");
+    }
+
+    @Test
+    public void flush_writes_right_away() throws IOException {
+        Path target = directory.resolve("unleash-repo.json");
+        BackupFileWriter writer = writer(target, Duration.ofHours(1));
+        writer.submit("first");
+        writer.flush();
+
+        writer.submit("second");
+        writer.flush();
+
+        assertThat(written).containsExactly("first", "second");
+        assertThat(new String(Files.readAllBytes(target), StandardCharsets.UTF_8))
+                .isEqualTo("second");
+    }
+
+    @Test
+    public void failed_writes_keep_the_previous_file() throws IOException {
+        Path target = directory.resolve("not-a-file");
+        Files.createDirectory(target);
+        Files.write(target.resolve("child"), new byte[] {1});
+        BackupFileWriter writer = writer(target, Duration.ZERO);
+
+        writer.submit("content");
+        writer.flush();
+
+        assertThat(failures).hasSize(1);
+        assertThat(written).isEmpty();
+        assertThat(target).isDirectory();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.collect(Collectors.toList())).containsExactly(target);
+        }
+    }
+
+    @Test
+    public void replaced_file_keeps_its_permissions() throws IOException {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path target = directory.resolve("unleash-repo.json");
+        Files.write(target, "previous".getBytes(StandardCharsets.UTF_8));
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+        Files.setPosixFilePermissions(target, permissions);
+        BackupFileWriter writer = writer(target, Duration.ZERO);
+
+        writer.submit("content");
+        writer.flush();
+
+        assertThat(Files.getPosixFilePermissions(target)).isEqualTo(permissions);
+    }
+
+    @Test
+    public void flush_gives_up_waiting_for_a_stuck_write() throws Exception {
+        Path target = directory.resolve("unleash-repo.json");
+        CountDownLatch release = new CountDownLatch(1);
+        BackupFileWriter writer =
+                new BackupFileWriter(
+                        target,
+                        Duration.ZERO,
+                        content -> {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return content.getBytes(StandardCharsets.UTF_8);
+                        },
+                        written::add,
+                        (content, e) -> failures.add(e));
+
+        writer.submit("content");
+        long start = System.nanoTime();
+        writer.flush(Duration.ofMillis(100));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        release.countDown();
+        waitUntilWritten(1);
+    }
+
+    private void waitUntilWritten(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (written.size() < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Not written within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.gson.JsonParser;
+import io.getunleash.UnleashContext;
+import io.getunleash.engine.FeatureCount;
+import io.getunleash.engine.MetricsBucket;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.util.UnleashScheduledExecutor;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class ConstantTogglesTest {
+
+    private static final String FEATURES =
+            "{\"version\":2,\"features\":["
+                    + "{\"name\":\"disabled\",\"enabled\":false,\"strategies\":[{\"name\":\"default\"}]},"
+                    + "{\"name\":\"noStrategies\",\"enabled\":true,\"strategies\":[]},"
+                    + "{\"name\":\"default\",\"enabled\":true,\"strategies\":[{\"name\":\"default\",\"constraints\":[]}]},"
+                    + "{\"name\":\"fullRollout\",\"enabled\":true,\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{\"rollout\":\"100\",\"stickiness\":\"default\"}}]},"
+                    + "{\"name\":\"userIdRollout\",\"enabled\":true,\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{\"rollout\":\"100\",\"stickiness\":\"userId\"}}]},"
+                    + "{\"name\":\"partialRollout\",\"enabled\":true,\"strategies\":[{\"name\":\"flexibleRollout\",\"parameters\":{\"rollout\":\"50\",\"stickiness\":\"default\"}}]},"
+                    + "{\"name\":\"constrained\",\"enabled\":true,\"strategies\":[{\"name\":\"default\",\"constraints\":[{\"contextName\":\"userId\",\"operator\":\"IN\",\"values\":[\"1\"]}]}]},"
+                    + "{\"name\":\"segmented\",\"enabled\":true,\"strategies\":[{\"name\":\"default\",\"segments\":[1]}]},"
+                    + "{\"name\":\"impressions\",\"enabled\":true,\"impressionData\":true,\"strategies\":[]},"
+                    + "{\"name\":\"dependent\",\"enabled\":true,\"strategies\":[],\"dependencies\":[{\"feature\":\"disabled\"}]}"
+                    + "],\"segments\":[{\"id\":1,\"constraints\":[{\"contextName\":\"userId\",\"operator\":\"IN\",\"values\":[\"1\"]}]}]}";
+
+    @Test
+    public void only_context_independent_toggles_are_constant() {
+        ConstantToggles constantToggles = new ConstantToggles();
+        constantToggles.update(JsonParser.parseString(FEATURES).getAsJsonObject());
+
+        assertThat(constantToggles.size()).isEqualTo(4);
+        assertThat(constantToggles.isEnabled("disabled").value).isFalse();
+        assertThat(constantToggles.isEnabled("noStrategies").value).isTrue();
+        assertThat(constantToggles.isEnabled("default").value).isTrue();
+        assertThat(constantToggles.isEnabled("fullRollout").value).isTrue();
+        assertThat(constantToggles.isEnabled("userIdRollout")).isNull();
+        assertThat(constantToggles.isEnabled("partialRollout")).isNull();
+        assertThat(constantToggles.isEnabled("constrained")).isNull();
+        assertThat(constantToggles.isEnabled("segmented")).isNull();
+        assertThat(constantToggles.isEnabled("impressions")).isNull();
+        assertThat(constantToggles.isEnabled("dependent")).isNull();
+        assertThat(constantToggles.isEnabled("unknown")).isNull();
+    }
+
+    @Test
+    public void full_rollout_sticky_on_a_context_field_is_off_without_that_field()
+            throws Exception {
+        BackupHandler backupHandler = mock(BackupHandler.class);
+        when(backupHandler.read()).thenReturn(Optional.of(FEATURES));
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(mock(UnleashScheduledExecutor.class))
+                        .disableMetrics()
+                        .disablePolling()
+                        .build();
+        FeatureRepositoryImpl repository =
+                new FeatureRepositoryImpl(config, backupHandler, new UnleashEngine());
+
+        UnleashContext empty = UnleashContext.builder().build();
+        assertThat(repository.isEnabled("userIdRollout", empty).value).isFalse();
+        assertThat(
+                        repository.isEnabled(
+                                        "userIdRollout",
+                                        UnleashContext.builder().userId("7").build())
+                                .value)
+                .isTrue();
+        assertThat(repository.isEnabled("fullRollout", empty).value).isTrue();
+    }
+
+    @Test
+    public void unparseable_state_clears_the_table() {
+        ConstantToggles constantToggles = new ConstantToggles();
+        constantToggles.update(JsonParser.parseString(FEATURES).getAsJsonObject());
+        constantToggles.update(null);
+
+        assertThat(constantToggles.size()).isZero();
+        assertThat(constantToggles.isEnabled("disabled")).isNull();
+    }
+
+    @Test
+    public void counts_are_merged_into_engine_bucket_once() {
+        ConstantToggles constantToggles = new ConstantToggles();
+        constantToggles.update(JsonParser.parseString(FEATURES).getAsJsonObject());
+        constantToggles.isEnabled("default");
+        constantToggles.isEnabled("default");
+        constantToggles.isEnabled("disabled");
+
+        Map<String, FeatureCount> engineToggles = new HashMap<>();
+        Map<String, Long> variants = new HashMap<>();
+        variants.put("a", 1L);
+        engineToggles.put("default", new FeatureCount(3L, 1L, variants));
+        Instant start = Instant.now().minusSeconds(10);
+        Instant stop = Instant.now();
+        MetricsBucket merged =
+                constantToggles.mergeInto(new MetricsBucket(start, stop, engineToggles));
+
+        assertThat(merged.getStart()).isEqualTo(start);
+        assertThat(merged.getToggles().get("default").getYes()).isEqualTo(5L);
+        assertThat(merged.getToggles().get("default").getNo()).isEqualTo(1L);
+        assertThat(merged.getToggles().get("default").getVariants()).containsEntry("a", 1L);
+        assertThat(merged.getToggles().get("disabled").getNo()).isEqualTo(1L);
+
+        assertThat(constantToggles.mergeInto(null)).isNull();
+    }
+
+    @Test
+    public void counters_of_removed_toggles_are_dropped_once_merged() {
+        ConstantToggles constantToggles = new ConstantToggles();
+        for (int i = 0; i < 100; i++) {
+            constantToggles.update(
+                    JsonParser.parseString(
+                                    "{\"version\":2,\"features\":[{\"name\":\"toggle-"
+                                            + i
+                                            + "\",\"enabled\":true,\"strategies\":[]}]}")
+                            .getAsJsonObject());
+            constantToggles.isEnabled("toggle-" + i);
+        }
+        assertThat(constantToggles.countedToggles()).isEqualTo(100);
+
+        MetricsBucket merged = constantToggles.mergeInto(null);
+
+        // Counted before the toggles were removed, so still reported.
+        assertThat(merged.getToggles()).hasSize(100);
+        assertThat(merged.getToggles().get("toggle-0").getYes()).isEqualTo(1);
+        assertThat(constantToggles.countedToggles()).isEqualTo(1);
+    }
+
+    @Test
+    public void repository_answers_constant_toggles_without_the_engine() throws Exception {
+        UnleashEngine engine = new UnleashEngine();
+        BackupHandler backupHandler = mock(BackupHandler.class);
+        when(backupHandler.read()).thenReturn(Optional.of(FEATURES));
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(mock(UnleashScheduledExecutor.class))
+                        .disableMetrics()
+                        .disablePolling()
+                        .build();
+        FeatureRepositoryImpl repository = new FeatureRepositoryImpl(config, backupHandler, engine);
+        UnleashContext context = UnleashContext.builder().userId("1").build();
+
+        assertThat(repository.isEnabled("default", context).value).isTrue();
+        assertThat(repository.isEnabled("disabled", context).value).isFalse();
+        assertThat(repository.isEnabled("constrained", context).value).isTrue();
+
+        MetricsBucket bucket = repository.getConstantToggles().mergeInto(engine.getMetrics());
+        assertThat(bucket.getToggles().get("default").getYes()).isEqualTo(1L);
+        assertThat(bucket.getToggles().get("disabled").getNo()).isEqualTo(1L);
+        assertThat(bucket.getToggles().get("constrained").getYes()).isEqualTo(1L);
+    }
+}
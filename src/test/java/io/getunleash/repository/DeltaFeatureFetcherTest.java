@@ -0,0 +1,110 @@
+package io.getunleash.repository;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.FeatureDefinition;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.UnleashConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class DeltaFeatureFetcherTest {
+    private static final String HYDRATION =
+            "{\"events\":[{\"type\":\"hydration\",\"eventId\":1,\"features\":["
+                    + "{\"name\":\"featureA\",\"enabled\":true,\"strategies\":[]}"
+                    + "],\"segments\":[]}]}";
+    private static final String UPDATE =
+            "{\"events\":[{\"type\":\"feature-updated\",\"eventId\":2,\"feature\":"
+                    + "{\"name\":\"featureB\",\"enabled\":true,\"strategies\":[]}}]}";
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    DeltaFeatureFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:" + serverMock.getPort() + "/api/")
+                        .projectName("default")
+                        .build();
+        fetcher = new DeltaFeatureFetcher(config);
+    }
+
+    @Test
+    public void sends_the_last_revision_and_returns_deltas() {
+        stubFor(
+                get(urlEqualTo("/api/client/delta?project=default"))
+                        .withHeader("If-None-Match", absent())
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("ETag", "1")
+                                        .withBody(HYDRATION)));
+        stubFor(
+                get(urlEqualTo("/api/client/delta?project=default"))
+                        .withHeader("If-None-Match", equalTo("1"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("ETag", "2")
+                                        .withBody(UPDATE)));
+        stubFor(
+                get(urlEqualTo("/api/client/delta?project=default"))
+                        .withHeader("If-None-Match", equalTo("2"))
+                        .willReturn(aResponse().withStatus(304)));
+
+        ClientFeaturesResponse hydration = fetcher.fetchFeatures();
+        assertThat(hydration.isDelta()).isTrue();
+        assertThat(hydration.getFeatures())
+                .extracting(FeatureDefinition::getName)
+                .containsExactly("featureA");
+
+        ClientFeaturesResponse update = fetcher.fetchFeatures();
+        assertThat(update.getStatus()).isEqualTo(ClientFeaturesResponse.Status.CHANGED);
+        assertThat(update.getClientFeatures()).contains(UPDATE);
+        assertThat(update.getFeatures())
+                .extracting(FeatureDefinition::getName)
+                .containsExactly("featureB");
+
+        assertThat(fetcher.fetchFeatures().getStatus())
+                .isEqualTo(ClientFeaturesResponse.Status.NOT_CHANGED);
+    }
+
+    @Test
+    public void requesting_hydration_drops_the_revision() {
+        stubFor(
+                get(urlEqualTo("/api/client/delta?project=default"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("ETag", "5")
+                                        .withBody(HYDRATION)));
+
+        fetcher.fetchFeatures();
+        fetcher.requestHydration();
+        fetcher.fetchFeatures();
+
+        verify(
+                2,
+                getRequestedFor(urlEqualTo("/api/client/delta?project=default"))
+                        .withHeader("If-None-Match", absent()));
+    }
+}
@@ -8,6 +8,7 @@ import io.getunleash.util.ClientFeaturesParser;
 import io.getunleash.util.UnleashConfig;
 import java.io.File;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -81,11 +82,52 @@ public class FeatureBackupHandlerFileTest {
 
         FeatureBackupHandlerFile backupHandler = new FeatureBackupHandlerFile(config);
         backupHandler.write(staticData);
+        // written in the background
+        backupHandler.flush();
         backupHandler = new FeatureBackupHandlerFile(config);
         Optional<String> features = backupHandler.read();
         assertEquals(staticData, features.get());
     }
 
+    @Test
+    public void snapshot_format_is_written_and_read_back() throws Exception {
+        File backupFile = File.createTempFile("unleash-repo-snapshot", ".bin");
+        backupFile.deleteOnExit();
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://unleash.org")
+                        .backupFile(backupFile.getAbsolutePath())
+                        .backupSnapshotFormat(true)
+                        .build();
+        String features = "{\"version\":2,\"features\":[]}";
+
+        FeatureBackupHandlerFile backupHandler = new FeatureBackupHandlerFile(config);
+        backupHandler.write(features);
+        backupHandler.flush();
+
+        byte[] written = Files.readAllBytes(backupFile.toPath());
+        assertThat(written[0]).isEqualTo((byte) 0x89);
+        assertThat(new FeatureBackupHandlerFile(config).read()).contains(features);
+    }
+
+    @Test
+    public void corrupt_snapshot_is_not_used() throws Exception {
+        File backupFile = File.createTempFile("unleash-repo-snapshot", ".bin");
+        backupFile.deleteOnExit();
+        byte[] snapshot = FeatureSnapshot.encode("{\"version\":2,\"features\":[]}", 1);
+        snapshot[snapshot.length - 12] ^= 1;
+        Files.write(backupFile.toPath(), snapshot);
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://unleash.org")
+                        .backupFile(backupFile.getAbsolutePath())
+                        .build();
+
+        assertThat(new FeatureBackupHandlerFile(config).read()).isEmpty();
+    }
+
     @Test
     public void test_file_is_directory_should_not_crash() {
         String backupFileIsDir = System.getProperty("java.io.tmpdir");
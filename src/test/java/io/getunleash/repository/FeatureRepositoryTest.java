@@ -1,18 +1,31 @@
 package io.getunleash.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.getunleash.DefaultUnleash;
 import io.getunleash.FeatureDefinition;
+import io.getunleash.ToggleChangeListener;
 import io.getunleash.Unleash;
+import io.getunleash.UnleashContext;
+import io.getunleash.UnleashException;
 import io.getunleash.engine.UnleashEngine;
 import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.event.EventDispatcher;
+import io.getunleash.event.FeatureChanged;
+import io.getunleash.event.UnleashEvent;
 import io.getunleash.util.UnleashConfig;
 import io.getunleash.util.UnleashScheduledExecutor;
 import java.io.File;
@@ -20,8 +33,10 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,11 +71,22 @@ public class FeatureRepositoryTest {
                 .disablePolling();
     }
 
+    private UnleashConfig.Builder pollingConfigBuilder(UnleashScheduledExecutor executor) {
+        return new UnleashConfig.Builder()
+                .appName("test")
+                .unleashAPI("http://localhost:4242/api/")
+                .scheduledExecutor(executor)
+                .fetchTogglesInterval(200L)
+                .disableMetrics();
+    }
+
     @BeforeEach
     public void setUp() {
         backupHandler = mock(FeatureBackupHandlerFile.class);
         bootstrapHandler = mock(ToggleBootstrapProvider.class);
         fetcher = mock(HttpFeatureFetcher.class);
+        // the repository fetches through the async variant, which by default calls fetchFeatures
+        when(fetcher.fetchFeaturesAsync()).thenCallRealMethod();
 
         defaultConfig = defaultConfigBuilder().build();
     }
@@ -128,6 +154,441 @@ public class FeatureRepositoryTest {
         assertEquals(5, features.size());
     }
 
+    @Test
+    public void changed_toggles_are_published_individually() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        when(eventDispatcher.isInterestedIn(FeatureChanged.class)).thenReturn(true);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        String before =
+                "{\"version\":2,\"features\":["
+                        + "{\"name\":\"kept\",\"enabled\":true,\"strategies\":[]},"
+                        + "{\"name\":\"edited\",\"enabled\":true,\"strategies\":[]},"
+                        + "{\"name\":\"segmented\",\"enabled\":true,\"strategies\":[{\"name\":\"default\",\"segments\":[1]}]},"
+                        + "{\"name\":\"removed\",\"enabled\":true,\"strategies\":[]}"
+                        + "],\"segments\":[{\"id\":1,\"constraints\":[{\"contextName\":\"userId\",\"operator\":\"IN\",\"values\":[\"1\"]}]}]}";
+        String after =
+                "{\"version\":2,\"features\":["
+                        + "{\"name\":\"kept\",\"enabled\":true,\"strategies\":[]},"
+                        + "{\"name\":\"edited\",\"enabled\":false,\"strategies\":[]},"
+                        + "{\"name\":\"segmented\",\"enabled\":true,\"strategies\":[{\"name\":\"default\",\"segments\":[1]}]},"
+                        + "{\"name\":\"added\",\"enabled\":true,\"strategies\":[]}"
+                        + "],\"segments\":[{\"id\":1,\"constraints\":[{\"contextName\":\"userId\",\"operator\":\"IN\",\"values\":[\"2\"]}]}]}";
+        when(backupHandler.read()).thenReturn(Optional.of(before));
+
+        new FeatureRepositoryImpl(
+                config,
+                backupHandler,
+                new UnleashEngine(),
+                fetcher,
+                bootstrapHandler,
+                eventDispatcher);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+        clearInvocations(eventDispatcher);
+
+        when(fetcher.fetchFeatures()).thenReturn(ClientFeaturesResponse.updated(after));
+        runnableArgumentCaptor.getValue().run();
+
+        ArgumentCaptor<UnleashEvent> events = ArgumentCaptor.forClass(UnleashEvent.class);
+        verify(eventDispatcher, atLeastOnce()).dispatch(events.capture());
+        List<FeatureChanged> changes =
+                events.getAllValues().stream()
+                        .filter(FeatureChanged.class::isInstance)
+                        .map(FeatureChanged.class::cast)
+                        .collect(Collectors.toList());
+        assertThat(changes)
+                .extracting(FeatureChanged::getToggleName, FeatureChanged::getChangeType)
+                .containsExactly(
+                        tuple("added", FeatureChanged.ChangeType.ADDED),
+                        tuple("edited", FeatureChanged.ChangeType.MODIFIED),
+                        tuple("removed", FeatureChanged.ChangeType.REMOVED),
+                        tuple("segmented", FeatureChanged.ChangeType.MODIFIED));
+        assertThat(changes.get(1).getHash()).isNotEqualTo(changes.get(1).getPreviousHash());
+    }
+
+    @Test
+    public void watchers_are_called_once_per_update_with_their_changes() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        when(backupHandler.read())
+                .thenReturn(
+                        Optional.of(
+                                "{\"version\":2,\"features\":["
+                                        + "{\"name\":\"a\",\"enabled\":true,\"strategies\":[]},"
+                                        + "{\"name\":\"b\",\"enabled\":true,\"strategies\":[]},"
+                                        + "{\"name\":\"c\",\"enabled\":true,\"strategies\":[]}]}"));
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, bootstrapHandler);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+
+        List<List<FeatureChanged>> received = new ArrayList<>();
+        List<Long> generations = new ArrayList<>();
+        ToggleChangeListener listener =
+                changes -> {
+                    received.add(changes);
+                    generations.add(featureRepository.getStateGeneration());
+                };
+        featureRepository.watch("a", listener);
+        featureRepository.watch("b", listener);
+        featureRepository.watch("c", listener);
+        ToggleChangeListener removedListener =
+                changes -> {
+                    throw new AssertionError("should not be notified");
+                };
+        featureRepository.watch("a", removedListener);
+        featureRepository.unwatch("a", removedListener);
+
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                "{\"version\":2,\"features\":["
+                                        + "{\"name\":\"a\",\"enabled\":false,\"strategies\":[]},"
+                                        + "{\"name\":\"b\",\"enabled\":true,\"strategies\":[]}]}"));
+        runnableArgumentCaptor.getValue().run();
+
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0))
+                .extracting(FeatureChanged::getToggleName, FeatureChanged::getChangeType)
+                .containsExactly(
+                        tuple("a", FeatureChanged.ChangeType.MODIFIED),
+                        tuple("c", FeatureChanged.ChangeType.REMOVED));
+        // Watchers run once the new state, generation included, is fully published.
+        assertThat(generations).containsExactly(2L);
+    }
+
+    @Test
+    public void watchers_run_without_blocking_the_next_update() throws Exception {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, bootstrapHandler);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+        Runnable update = runnableArgumentCaptor.getValue();
+
+        List<List<FeatureChanged>> received = new ArrayList<>();
+        ToggleChangeListener listener =
+                changes -> {
+                    received.add(changes);
+                    if (received.size() == 1) {
+                        // Another thread fetching while this listener still runs must not wait
+                        // for it.
+                        Thread other = new Thread(update);
+                        other.start();
+                        try {
+                            other.join(5000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        assertThat(other.isAlive()).isFalse();
+                        assertThat(featureRepository.getStateGeneration()).isEqualTo(2L);
+                    }
+                };
+        featureRepository.watch("a", listener);
+
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                "{\"version\":2,\"features\":["
+                                        + "{\"name\":\"a\",\"enabled\":true,\"strategies\":[]}]}"))
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                "{\"version\":2,\"features\":["
+                                        + "{\"name\":\"a\",\"enabled\":false,\"strategies\":[]}]}"));
+        update.run();
+
+        // The second change is delivered after the first listener call returns, in order.
+        assertThat(received)
+                .extracting(changes -> changes.get(0).getChangeType())
+                .containsExactly(
+                        FeatureChanged.ChangeType.ADDED, FeatureChanged.ChangeType.MODIFIED);
+    }
+
+    @Test
+    public void state_generation_increases_with_every_new_state() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        when(backupHandler.read())
+                .thenReturn(Optional.of(loadMockFeatures("unleash-repo-v2.json")));
+
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config,
+                        backupHandler,
+                        new UnleashEngine(),
+                        fetcher,
+                        bootstrapHandler,
+                        eventDispatcher);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(1);
+
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                loadMockFeatures("unleash-repo-v2-advanced.json")))
+                .thenReturn(ClientFeaturesResponse.notChanged());
+        runnableArgumentCaptor.getValue().run();
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(2);
+        runnableArgumentCaptor.getValue().run();
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(2);
+
+        ArgumentCaptor<UnleashEvent> events = ArgumentCaptor.forClass(UnleashEvent.class);
+        verify(eventDispatcher, atLeastOnce()).dispatch(events.capture());
+        assertThat(events.getAllValues())
+                .filteredOn(ClientFeaturesResponse.class::isInstance)
+                .extracting(event -> ((ClientFeaturesResponse) event).getStateGeneration())
+                .containsExactly(2L, 2L);
+    }
+
+    @Test
+    public void identical_payload_is_not_applied_again() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        String features = loadMockFeatures("unleash-repo-v2.json");
+        when(backupHandler.read()).thenReturn(Optional.of(features));
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, bootstrapHandler);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+
+        when(fetcher.fetchFeatures())
+                .thenReturn(ClientFeaturesResponse.updated(new String(features)));
+        runnableArgumentCaptor.getValue().run();
+        runnableArgumentCaptor.getValue().run();
+
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(1);
+        verify(backupHandler, never()).write(anyString());
+    }
+
+    @Test
+    public void deltas_are_applied_on_top_of_the_current_state() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        when(eventDispatcher.isInterestedIn(FeatureChanged.class)).thenReturn(true);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        DeltaFeatureFetcher deltaFetcher = mock(DeltaFeatureFetcher.class);
+        when(deltaFetcher.fetchFeaturesAsync()).thenCallRealMethod();
+        when(backupHandler.read()).thenReturn(Optional.empty());
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config,
+                        backupHandler,
+                        new UnleashEngine(),
+                        deltaFetcher,
+                        bootstrapHandler,
+                        eventDispatcher);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+
+        when(deltaFetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.delta(
+                                "{\"events\":[{\"type\":\"hydration\",\"eventId\":1,\"features\":["
+                                        + "{\"name\":\"a\",\"enabled\":true,\"strategies\":[]},"
+                                        + "{\"name\":\"b\",\"enabled\":true,\"strategies\":[]},"
+                                        + "{\"name\":\"c\",\"enabled\":true,\"strategies\":[{\"name\":\"default\",\"segments\":[1]}]}"
+                                        + "],\"segments\":[{\"id\":1,\"constraints\":[]}]}]}"))
+                .thenReturn(
+                        ClientFeaturesResponse.delta(
+                                "{\"events\":["
+                                        + "{\"type\":\"feature-updated\",\"eventId\":2,\"feature\":"
+                                        + "{\"name\":\"a\",\"enabled\":false,\"strategies\":[]}},"
+                                        + "{\"type\":\"feature-removed\",\"eventId\":3,\"featureName\":\"b\",\"project\":\"default\"},"
+                                        + "{\"type\":\"segment-updated\",\"eventId\":4,\"segment\":"
+                                        + "{\"id\":1,\"constraints\":[{\"contextName\":\"userId\",\"operator\":\"IN\",\"values\":[\"1\"]}]}}"
+                                        + "]}"));
+        runnableArgumentCaptor.getValue().run();
+        assertThat(featureRepository.getToggleNames()).containsExactlyInAnyOrder("a", "b", "c");
+        clearInvocations(eventDispatcher);
+
+        runnableArgumentCaptor.getValue().run();
+
+        assertThat(featureRepository.getToggleNames()).containsExactlyInAnyOrder("a", "c");
+        assertThat(featureRepository.isEnabled("a", UnleashContext.builder().build()).value)
+                .isFalse();
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(2);
+        ArgumentCaptor<UnleashEvent> events = ArgumentCaptor.forClass(UnleashEvent.class);
+        verify(eventDispatcher, atLeastOnce()).dispatch(events.capture());
+        assertThat(events.getAllValues())
+                .filteredOn(FeatureChanged.class::isInstance)
+                .extracting(
+                        event -> ((FeatureChanged) event).getToggleName(),
+                        event -> ((FeatureChanged) event).getChangeType())
+                .containsExactly(
+                        tuple("a", FeatureChanged.ChangeType.MODIFIED),
+                        tuple("b", FeatureChanged.ChangeType.REMOVED),
+                        tuple("c", FeatureChanged.ChangeType.MODIFIED));
+
+        // The backup is a complete state, readable without any delta history.
+        ArgumentCaptor<String> backup = ArgumentCaptor.forClass(String.class);
+        verify(backupHandler, times(2)).write(backup.capture());
+        UnleashEngine restored = new UnleashEngine();
+        assertThatCode(() -> restored.takeState(backup.getValue())).doesNotThrowAnyException();
+        assertThat(restored.listKnownToggles())
+                .extracting(toggle -> toggle.getName())
+                .containsExactlyInAnyOrder("a", "c");
+    }
+
+    @Test
+    public void delta_without_a_hydration_to_build_on_requests_one() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        DeltaFeatureFetcher deltaFetcher = mock(DeltaFeatureFetcher.class);
+        when(deltaFetcher.fetchFeaturesAsync()).thenCallRealMethod();
+        when(backupHandler.read())
+                .thenReturn(Optional.of(loadMockFeatures("unleash-repo-v2.json")));
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config,
+                        backupHandler,
+                        new UnleashEngine(),
+                        deltaFetcher,
+                        bootstrapHandler,
+                        eventDispatcher);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+        List<String> restored = featureRepository.getToggleNames();
+
+        when(deltaFetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.delta(
+                                "{\"events\":[{\"type\":\"feature-removed\",\"eventId\":9,"
+                                        + "\"featureName\":\"featureX\",\"project\":\"default\"}]}"));
+        runnableArgumentCaptor.getValue().run();
+
+        verify(deltaFetcher).requestHydration();
+        verify(eventDispatcher).dispatch(any(UnleashException.class));
+        verify(backupHandler, never()).write(anyString());
+        assertThat(featureRepository.getToggleNames()).isEqualTo(restored);
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(1);
+    }
+
+    @Test
+    public void updates_do_not_wait_for_the_fetch_to_complete() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        FeatureFetcher asyncFetcher = mock(FeatureFetcher.class);
+        CompletableFuture<ClientFeaturesResponse> first = new CompletableFuture<>();
+        when(asyncFetcher.fetchFeaturesAsync())
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.completedFuture(ClientFeaturesResponse.notChanged()));
+        when(backupHandler.read()).thenReturn(Optional.empty());
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), asyncFetcher, bootstrapHandler);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+
+        runnableArgumentCaptor.getValue().run();
+        // Still in flight: a second update doesn't start another fetch yet.
+        runnableArgumentCaptor.getValue().run();
+        verify(asyncFetcher, times(1)).fetchFeaturesAsync();
+        assertThat(featureRepository.getToggleNames()).isEmpty();
+
+        first.complete(ClientFeaturesResponse.updated(loadMockFeatures("unleash-repo-v2.json")));
+
+        assertThat(featureRepository.getToggleNames()).isNotEmpty();
+        // The update requested while the first fetch was in flight runs once it completes.
+        verify(asyncFetcher, times(2)).fetchFeaturesAsync();
+        verify(asyncFetcher, never()).fetchFeatures();
+    }
+
+    @Test
+    public void fetcher_throwing_synchronously_does_not_stop_later_updates() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> runnableArgumentCaptor = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                new UnleashConfig.Builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:4242/api/")
+                        .scheduledExecutor(executor)
+                        .fetchTogglesInterval(200L)
+                        .disableMetrics()
+                        .build();
+        FeatureFetcher asyncFetcher = mock(FeatureFetcher.class);
+        when(asyncFetcher.fetchFeaturesAsync())
+                .thenThrow(new IllegalStateException("broken"))
+                .thenReturn(
+                        CompletableFuture.completedFuture(
+                                ClientFeaturesResponse.updated(
+                                        loadMockFeatures("unleash-repo-v2.json"))));
+        when(backupHandler.read()).thenReturn(Optional.empty());
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), asyncFetcher, bootstrapHandler);
+        verify(executor).setInterval(runnableArgumentCaptor.capture(), anyLong(), anyLong());
+
+        runnableArgumentCaptor.getValue().run();
+        runnableArgumentCaptor.getValue().run();
+
+        verify(asyncFetcher, times(2)).fetchFeaturesAsync();
+        assertThat(featureRepository.getToggleNames()).isNotEmpty();
+    }
+
     @Test
     public void should_perform_synchronous_fetch_on_initialisation() {
         UnleashConfig config =
@@ -182,6 +643,33 @@ public class FeatureRepositoryTest {
         assertEquals(5, knownToggles.size());
     }
 
+    @Test
+    public void known_toggles_are_indexed_by_name_project_and_type() {
+        String features =
+                "{\"version\":2,\"features\":["
+                        + "{\"name\":\"b\",\"project\":\"web\",\"type\":\"release\",\"enabled\":true,\"strategies\":[]},"
+                        + "{\"name\":\"a\",\"project\":\"web\",\"type\":\"experiment\",\"enabled\":true,\"strategies\":[]},"
+                        + "{\"name\":\"c\",\"project\":\"billing\",\"type\":\"release\",\"enabled\":false,\"strategies\":[]}"
+                        + "]}";
+        when(backupHandler.read()).thenReturn(Optional.of(features));
+
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(defaultConfig, backupHandler, new UnleashEngine());
+
+        assertThat(featureRepository.getToggleNames()).containsExactly("a", "b", "c");
+        assertThat(featureRepository.getToggleNames()).isSameAs(featureRepository.getToggleNames());
+        assertThat(featureRepository.getFeatureDefinition("c"))
+                .hasValueSatisfying(c -> assertThat(c.environmentEnabled()).isFalse());
+        assertThat(featureRepository.getFeatureDefinition("missing")).isEmpty();
+        assertThat(featureRepository.getFeatureDefinitionsByProject("web"))
+                .extracting(FeatureDefinition::getName)
+                .containsExactly("a", "b");
+        assertThat(featureRepository.getFeatureDefinitionsByType("release"))
+                .extracting(FeatureDefinition::getName)
+                .containsExactly("b", "c");
+        assertThat(featureRepository.getFeatureDefinitionsByType("permission")).isEmpty();
+    }
+
     @Test
     public void should_return_enabled_property_on_known_toggles() {
         when(backupHandler.read())
@@ -477,4 +965,98 @@ public class FeatureRepositoryTest {
             verify(fetcher, times(count)).fetchFeatures();
         }
     }
+
+    @Test
+    public void ready_future_completes_when_backup_is_restored() {
+        when(backupHandler.read())
+                .thenReturn(Optional.of(loadMockFeatures("unleash-repo-v2.json")));
+
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        defaultConfig,
+                        backupHandler,
+                        new UnleashEngine(),
+                        fetcher,
+                        bootstrapHandler);
+
+        assertThat(featureRepository.readyFuture()).isCompleted();
+    }
+
+    @Test
+    public void ready_future_waits_for_first_fetch_without_backup() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> poll = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config = pollingConfigBuilder(executor).build();
+        when(backupHandler.read()).thenReturn(Optional.empty());
+        when(bootstrapHandler.read()).thenReturn(Optional.empty());
+
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, bootstrapHandler);
+        CompletableFuture<Void> ready = featureRepository.readyFuture();
+
+        assertThat(ready).isNotDone();
+        verify(executor).setInterval(poll.capture(), anyLong(), anyLong());
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(loadMockFeatures("unleash-repo-v2.json")));
+        poll.getValue().run();
+
+        assertThat(ready).isCompleted();
+    }
+
+    @Test
+    public void concurrent_initialisation_keeps_fetched_state_that_lands_before_the_backup() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> poll = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                pollingConfigBuilder(executor).concurrentInitialisation(true).build();
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                loadMockFeatures("unleash-repo-v2-advanced.json")));
+        when(backupHandler.read())
+                .thenAnswer(
+                        invocation -> {
+                            // the fetch was started first and completes while the disk is read
+                            verify(executor).setInterval(poll.capture(), anyLong(), anyLong());
+                            poll.getValue().run();
+                            return Optional.of(loadMockFeatures("unleash-repo-v2.json"));
+                        });
+
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, bootstrapHandler);
+
+        assertThat(featureRepository.readyFuture()).isCompleted();
+        assertThat(featureRepository.listKnownToggles()).hasSize(2);
+        assertThat(featureRepository.getStateGeneration()).isEqualTo(1);
+        verify(bootstrapHandler, never()).read();
+    }
+
+    @Test
+    public void concurrent_initialisation_replaces_restored_backup_with_fetched_state() {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        ArgumentCaptor<Runnable> poll = ArgumentCaptor.forClass(Runnable.class);
+        UnleashConfig config =
+                pollingConfigBuilder(executor).concurrentInitialisation(true).build();
+        when(backupHandler.read())
+                .thenReturn(Optional.of(loadMockFeatures("unleash-repo-v2.json")));
+
+        FeatureRepository featureRepository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, bootstrapHandler);
+
+        assertThat(featureRepository.readyFuture()).isCompleted();
+        assertThat(featureRepository.listKnownToggles()).hasSize(5);
+
+        verify(executor).setInterval(poll.capture(), anyLong(), anyLong());
+        when(fetcher.fetchFeatures())
+                .thenReturn(
+                        ClientFeaturesResponse.updated(
+                                loadMockFeatures("unleash-repo-v2-advanced.json")));
+        poll.getValue().run();
+
+        assertThat(featureRepository.listKnownToggles()).hasSize(2);
+    }
 }
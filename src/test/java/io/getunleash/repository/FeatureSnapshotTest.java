@@ -0,0 +1,101 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FeatureSnapshotTest {
+    private static final String FEATURES =
+            "{\"version\":2,\"features\":[{\"name\":\"featureA\",\"enabled\":true,\"strategies\":[]}]}";
+
+    @Test
+    public void round_trips_features_and_generation() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(FEATURES, 42);
+
+        FeatureSnapshot read = read(snapshot);
+
+        assertThat(read.getClientFeatures()).isEqualTo(FEATURES);
+        assertThat(read.getStateGeneration()).isEqualTo(42);
+    }
+
+    @Test
+    public void reads_plain_json() throws IOException {
+        FeatureSnapshot read = read(FEATURES.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(read.getClientFeatures()).isEqualTo(FEATURES);
+        assertThat(read.getStateGeneration()).isZero();
+    }
+
+    @Test
+    public void reads_plain_json_shorter_than_the_header() throws IOException {
+        assertThat(read("{}".getBytes(StandardCharsets.UTF_8)).getClientFeatures()).isEqualTo("{}");
+    }
+
+    @Test
+    public void rejects_checksum_mismatch() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(FEATURES, 1);
+        // last byte of the checksum
+        snapshot[21] ^= 1;
+
+        assertThatThrownBy(() -> read(snapshot))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    public void rejects_truncated_snapshot() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(FEATURES, 1);
+
+        assertThatThrownBy(() -> read(Arrays.copyOf(snapshot, snapshot.length - 10)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> read(Arrays.copyOf(snapshot, 10)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("truncated");
+    }
+
+    @Test
+    public void rejects_unknown_format_version() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(FEATURES, 1);
+        snapshot[4] = 2;
+
+        assertThatThrownBy(() -> read(snapshot))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Unsupported snapshot format");
+    }
+
+    @Test
+    public void reads_files_in_either_format(@TempDir Path dir) throws IOException {
+        Path json = dir.resolve("features.json");
+        Files.write(json, FEATURES.getBytes(StandardCharsets.UTF_8));
+        Path snapshot = dir.resolve("features.bin");
+        Files.write(snapshot, FeatureSnapshot.encode(FEATURES, 7));
+
+        assertThat(FeatureSnapshot.read(json).getClientFeatures()).isEqualTo(FEATURES);
+        FeatureSnapshot read = FeatureSnapshot.read(snapshot);
+        assertThat(read.getClientFeatures()).isEqualTo(FEATURES);
+        assertThat(read.getStateGeneration()).isEqualTo(7);
+    }
+
+    @Test
+    public void rejects_implausible_payload_length() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(FEATURES, 1);
+        // payload length, claiming ~2 GB
+        snapshot[14] = 0x7f;
+
+        assertThatThrownBy(() -> read(snapshot))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("invalid payload length");
+    }
+
+    private static FeatureSnapshot read(byte[] bytes) throws IOException {
+        return FeatureSnapshot.read(new ByteArrayInputStream(bytes), bytes.length);
+    }
+}
@@ -1,6 +1,7 @@
 package io.getunleash.repository;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
@@ -17,10 +18,16 @@ import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
 import io.getunleash.FeatureDefinition;
 import io.getunleash.event.ClientFeaturesResponse;
 import io.getunleash.util.UnleashConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -289,4 +296,84 @@ public class HttpFeatureFetcherTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("?project=" + name + "] was not URL friendly.");
     }
+
+    @Test
+    public void should_accept_and_decode_gzip_responses() throws IOException {
+        byte[] features = readResource("/__files/features-v2-with-segments.json");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(features);
+        }
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("Accept-Encoding", containing("gzip"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withHeader("Content-Encoding", "gzip")
+                                        .withBody(compressed.toByteArray())));
+
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+
+        assertThat(response.getClientFeatures())
+                .hasValue(new String(features, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void should_accept_and_decode_deflate_responses() throws IOException {
+        byte[] features = readResource("/__files/features-v2-with-segments.json");
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed)) {
+            deflate.write(features);
+        }
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withHeader("Content-Encoding", "deflate")
+                                        .withBody(compressed.toByteArray())));
+
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+
+        assertThat(response.getClientFeatures())
+                .hasValue(new String(features, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void should_not_ask_for_compression_when_disabled() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Type", "application/json")
+                                        .withBodyFile("features-v2-with-segments.json")));
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI(uri)
+                        .fetchTogglesCompression(false)
+                        .build();
+
+        new HttpFeatureFetcher(config).fetchFeatures();
+
+        verify(
+                getRequestedFor(urlMatching("/api/client/features"))
+                        .withoutHeader("Accept-Encoding"));
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream(name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package io.getunleash.repository;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static io.getunleash.util.UnleashConfig.UNLEASH_CONNECTION_ID_HEADER;
+import static io.getunleash.util.UnleashConfig.UNLEASH_INTERVAL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.getunleash.FeatureDefinition;
+import io.getunleash.UnleashException;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.UnleashConfig;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+public class JavaHttpFeatureFetcherTest {
+    private static final String FEATURES =
+            "{\"version\":2,\"features\":[{\"name\":\"featureA\",\"enabled\":true,\"strategies\":[]}]}";
+
+    @RegisterExtension
+    static WireMockExtension serverMock =
+            WireMockExtension.newInstance()
+                    .configureStaticDsl(true)
+                    .options(wireMockConfig().dynamicPort())
+                    .build();
+
+    UnleashConfig config;
+    JavaHttpFeatureFetcher fetcher;
+
+    @BeforeEach
+    void setUp() {
+        config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:" + serverMock.getPort() + "/api/")
+                        .build();
+        fetcher = new JavaHttpFeatureFetcher(config);
+    }
+
+    @Test
+    public void fetches_features_with_unleash_headers() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(aResponse().withStatus(200).withBody(FEATURES)));
+
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.CHANGED);
+        assertThat(response.getFeatures())
+                .extracting(FeatureDefinition::getName)
+                .containsExactly("featureA");
+        verify(
+                getRequestedFor(urlEqualTo("/api/client/features"))
+                        .withHeader("UNLEASH-APPNAME", equalTo("test"))
+                        .withHeader(UNLEASH_CONNECTION_ID_HEADER, equalTo(config.getConnectionId()))
+                        .withHeader(
+                                UNLEASH_INTERVAL, equalTo(config.getFetchTogglesIntervalMillis()))
+                        .withHeader("If-None-Match", absent()));
+    }
+
+    @Test
+    public void sends_etag_back_and_handles_not_modified() {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("If-None-Match", absent())
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("ETag", "AZ12")
+                                        .withBody(FEATURES)));
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("If-None-Match", equalTo("AZ12"))
+                        .willReturn(aResponse().withStatus(304)));
+
+        fetcher.fetchFeatures();
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.NOT_CHANGED);
+    }
+
+    @Test
+    public void decodes_gzipped_features() throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(FEATURES.getBytes(StandardCharsets.UTF_8));
+        }
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .withHeader("Accept-Encoding", equalTo("gzip, deflate"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withHeader("Content-Encoding", "gzip")
+                                        .withBody(gzipped.toByteArray())));
+
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+
+        assertThat(response.getClientFeatures()).contains(FEATURES);
+    }
+
+    @Test
+    public void fetches_asynchronously() throws Exception {
+        stubFor(
+                get(urlEqualTo("/api/client/features"))
+                        .willReturn(
+                                aResponse()
+                                        .withStatus(200)
+                                        .withFixedDelay(200)
+                                        .withBody(FEATURES)));
+
+        CompletableFuture<ClientFeaturesResponse> response = fetcher.fetchFeaturesAsync();
+
+        assertThat(response).isNotDone();
+        assertThat(response.get(5, TimeUnit.SECONDS).getClientFeatures()).contains(FEATURES);
+    }
+
+    @Test
+    public void connection_failures_complete_exceptionally() {
+        UnleashConfig unreachable =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:1/api/")
+                        .build();
+
+        assertThat(new JavaHttpFeatureFetcher(unreachable).fetchFeaturesAsync())
+                .failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(UnleashException.class);
+        assertThatThrownBy(() -> new JavaHttpFeatureFetcher(unreachable).fetchFeatures())
+                .isInstanceOf(UnleashException.class)
+                .hasMessage("Could not fetch toggles");
+    }
+
+    @Test
+    public void server_errors_are_unavailable() {
+        stubFor(get(urlEqualTo("/api/client/features")).willReturn(aResponse().withStatus(503)));
+
+        ClientFeaturesResponse response = fetcher.fetchFeatures();
+
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.UNAVAILABLE);
+        assertThat(response.getHttpStatusCode()).isEqualTo(503);
+    }
+}
@@ -0,0 +1,84 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class ParallelToggleBootstrapProviderTest {
+    private static final String FEATURES = "{\"version\":2,\"features\":[]}";
+
+    @Test
+    public void first_valid_source_wins_without_waiting_for_slow_ones() {
+        CountDownLatch never = new CountDownLatch(1);
+        ToggleBootstrapProvider slow =
+                () -> {
+                    try {
+                        never.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of("{\"slow\":true}");
+                };
+
+        Optional<String> features =
+                new ParallelToggleBootstrapProvider(slow, () -> Optional.of(FEATURES)).read();
+
+        assertThat(features).contains(FEATURES);
+        never.countDown();
+    }
+
+    @Test
+    public void skips_empty_failing_and_invalid_sources() {
+        ToggleBootstrapProvider failing =
+                () -> {
+                    throw new IllegalStateException("broken");
+                };
+        ToggleBootstrapProvider html = () -> Optional.of("<html>Bad gateway</html>");
+        ToggleBootstrapProvider truncated = () -> Optional.of("{\"version\":2,\"features\":[");
+        ToggleBootstrapProvider notFeatures = () -> Optional.of("{\"error\":\"not found\"}");
+        ToggleBootstrapProvider delayed =
+                () -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of(" \n" + FEATURES);
+                };
+
+        Optional<String> features =
+                new ParallelToggleBootstrapProvider(
+                                failing, Optional::empty, html, truncated, notFeatures, delayed)
+                        .read();
+
+        assertThat(features).contains(" \n" + FEATURES);
+    }
+
+    @Test
+    public void empty_when_no_source_has_features() {
+        assertThat(new ParallelToggleBootstrapProvider(Optional::empty, Optional::empty).read())
+                .isEmpty();
+        assertThat(new ParallelToggleBootstrapProvider().read()).isEmpty();
+    }
+
+    @Test
+    public void gives_up_after_timeout() {
+        CountDownLatch never = new CountDownLatch(1);
+        ToggleBootstrapProvider hanging =
+                () -> {
+                    try {
+                        never.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of(FEATURES);
+                };
+
+        assertThat(new ParallelToggleBootstrapProvider(Duration.ofMillis(100), hanging).read())
+                .isEmpty();
+        never.countDown();
+    }
+}
@@ -0,0 +1,275 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.getunleash.FeatureDefinition;
+import io.getunleash.engine.UnleashEngine;
+import io.getunleash.event.ClientFeaturesResponse;
+import io.getunleash.util.UnleashConfig;
+import io.getunleash.util.UnleashScheduledExecutor;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StreamingFeatureFetcherTest {
+    private static final String HYDRATION =
+            "{\"events\":[{\"type\":\"hydration\",\"eventId\":1,\"features\":["
+                    + "{\"name\":\"featureA\",\"enabled\":true,\"strategies\":[]},"
+                    + "{\"name\":\"featureB\",\"enabled\":true,\"strategies\":[]}"
+                    + "],\"segments\":[]}]}";
+    private static final String REMOVE_B =
+            "{\"events\":[{\"type\":\"feature-removed\",\"eventId\":2,"
+                    + "\"featureName\":\"featureB\",\"project\":\"default\"}]}";
+
+    private SseStub stub;
+    private FeatureFetcher pollingFetcher;
+    private StreamingFeatureFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = new SseStub();
+        pollingFetcher = mock(FeatureFetcher.class);
+        when(pollingFetcher.fetchFeatures()).thenReturn(ClientFeaturesResponse.notChanged());
+        fetcher =
+                new StreamingFeatureFetcher(
+                        config(), pollingFetcher, Duration.ofMillis(10), Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fetcher.stop();
+        stub.stop();
+    }
+
+    private UnleashConfig config() {
+        return UnleashConfig.builder()
+                .appName("test")
+                .unleashAPI("http://localhost:" + stub.port() + "/api/")
+                .build();
+    }
+
+    @Test
+    public void pushed_hydration_and_deltas_are_handed_to_the_repository() throws Exception {
+        AtomicInteger updates = new AtomicInteger();
+        fetcher.start(updates::incrementAndGet);
+        HttpExchange connection = stub.nextConnection();
+        assertThat(connection.getRequestHeaders().getFirst("Accept"))
+                .isEqualTo("text/event-stream");
+        assertThat(connection.getRequestHeaders().getFirst("UNLEASH-APPNAME")).isEqualTo("test");
+
+        stub.send(connection, "unleash-connected", HYDRATION);
+        waitUntil(() -> updates.get() == 1);
+
+        assertThat(names(fetcher.fetchFeatures())).containsExactly("featureA", "featureB");
+        assertThat(fetcher.fetchFeatures().getStatus())
+                .isEqualTo(ClientFeaturesResponse.Status.NOT_CHANGED);
+
+        stub.send(connection, "unleash-updated", REMOVE_B);
+        waitUntil(() -> updates.get() == 2);
+
+        assertThat(names(fetcher.fetchFeatures())).containsExactly("featureA");
+        verify(pollingFetcher, never()).fetchFeatures();
+    }
+
+    @Test
+    public void polls_while_disconnected_and_resumes_from_last_event_id() throws Exception {
+        fetcher.start(() -> {});
+        HttpExchange first = stub.nextConnection();
+        stub.write(first, "id: 7\nevent: unleash-connected\ndata: " + HYDRATION + "\n\n");
+        waitUntil(fetcher::isConnected);
+        fetcher.fetchFeatures();
+
+        // A server that is down keeps the client polling, however often it retries.
+        stub.failNextConnections(Integer.MAX_VALUE);
+        first.close();
+        waitUntil(() -> stub.failedConnections() >= 2);
+        assertThat(fetcher.isConnected()).isFalse();
+        fetcher.fetchFeatures();
+        verify(pollingFetcher, times(1)).fetchFeatures();
+
+        stub.failNextConnections(0);
+
+        HttpExchange resumed = stub.nextConnection();
+        assertThat(resumed.getRequestHeaders().getFirst("Last-Event-ID")).isEqualTo("7");
+        waitUntil(fetcher::isConnected);
+        assertThat(fetcher.fetchFeatures().getStatus())
+                .isEqualTo(ClientFeaturesResponse.Status.NOT_CHANGED);
+        verify(pollingFetcher, times(1)).fetchFeatures();
+    }
+
+    @Test
+    public void malformed_event_forces_a_fresh_hydration() throws Exception {
+        fetcher.start(() -> {});
+        HttpExchange first = stub.nextConnection();
+        stub.write(first, "id: 3\nevent: unleash-connected\ndata: " + HYDRATION + "\n\n");
+        waitUntil(fetcher::isConnected);
+
+        stub.send(first, "unleash-updated", "{\"events\":[{\"type\":\"feature-updated\"}]}");
+
+        HttpExchange second = stub.nextConnection();
+        assertThat(second.getRequestHeaders().getFirst("Last-Event-ID")).isNull();
+    }
+
+    @Test
+    public void event_with_a_feature_of_the_wrong_type_discards_the_partial_state()
+            throws Exception {
+        fetcher.start(() -> {});
+        HttpExchange first = stub.nextConnection();
+        stub.write(first, "id: 3\nevent: unleash-connected\ndata: " + HYDRATION + "\n\n");
+        waitUntil(fetcher::isConnected);
+        fetcher.fetchFeatures();
+
+        stub.send(
+                first,
+                "unleash-updated",
+                "{\"events\":["
+                        + "{\"type\":\"feature-updated\",\"feature\":"
+                        + "{\"name\":\"featureC\",\"enabled\":true,\"strategies\":[]}},"
+                        + "{\"type\":\"feature-updated\",\"feature\":\"featureD\"}]}");
+
+        HttpExchange second = stub.nextConnection();
+        assertThat(second.getRequestHeaders().getFirst("Last-Event-ID")).isNull();
+        assertThat(fetcher.isConnected()).isFalse();
+
+        stub.send(second, "unleash-connected", HYDRATION);
+        waitUntil(fetcher::isConnected);
+        assertThat(names(fetcher.fetchFeatures())).containsExactly("featureA", "featureB");
+    }
+
+    @Test
+    public void repository_applies_pushed_updates_without_polling() throws Exception {
+        UnleashScheduledExecutor executor = mock(UnleashScheduledExecutor.class);
+        when(executor.scheduleOnce(any()))
+                .thenAnswer(
+                        invocation -> {
+                            invocation.getArgument(0, Runnable.class).run();
+                            return null;
+                        });
+        BackupHandler backupHandler = mock(BackupHandler.class);
+        when(backupHandler.read()).thenReturn(Optional.empty());
+        UnleashConfig config =
+                UnleashConfig.builder()
+                        .appName("test")
+                        .unleashAPI("http://localhost:" + stub.port() + "/api/")
+                        .scheduledExecutor(executor)
+                        .disablePolling()
+                        .build();
+        FeatureRepositoryImpl repository =
+                new FeatureRepositoryImpl(
+                        config, backupHandler, new UnleashEngine(), fetcher, null);
+
+        HttpExchange connection = stub.nextConnection();
+        stub.send(connection, "unleash-connected", HYDRATION);
+        waitUntil(() -> repository.getToggleNames().size() == 2);
+
+        stub.send(connection, "unleash-updated", REMOVE_B);
+        waitUntil(() -> repository.getToggleNames().size() == 1);
+        assertThat(repository.getToggleNames()).containsExactly("featureA");
+
+        repository.shutdown();
+        waitUntil(() -> !fetcher.isConnected());
+        verify(pollingFetcher, never()).fetchFeatures();
+    }
+
+    private static List<String> names(ClientFeaturesResponse response) {
+        assertThat(response.getStatus()).isEqualTo(ClientFeaturesResponse.Status.CHANGED);
+        return response.getFeatures().stream()
+                .map(FeatureDefinition::getName)
+                .collect(Collectors.toList());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Condition not met within 5 seconds");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /** Minimal in-process SSE server that hands each open stream to the test. */
+    private static final class SseStub {
+        private final HttpServer server;
+        private final ExecutorService executor = Executors.newCachedThreadPool();
+        private final BlockingQueue<HttpExchange> connections = new LinkedBlockingQueue<>();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        SseStub() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(executor);
+            server.createContext(
+                    "/api/client/streaming",
+                    exchange -> {
+                        if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                            failed.incrementAndGet();
+                            exchange.sendResponseHeaders(503, -1);
+                            exchange.close();
+                            return;
+                        }
+                        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+                        exchange.sendResponseHeaders(200, 0);
+                        exchange.getResponseBody().flush();
+                        connections.add(exchange);
+                    });
+            server.start();
+        }
+
+        int port() {
+            return server.getAddress().getPort();
+        }
+
+        HttpExchange nextConnection() throws InterruptedException {
+            HttpExchange exchange = connections.poll(5, TimeUnit.SECONDS);
+            assertThat(exchange).as("stream connection").isNotNull();
+            return exchange;
+        }
+
+        void failNextConnections(int count) {
+            failures.set(count);
+        }
+
+        int failedConnections() {
+            return failed.get();
+        }
+
+        void send(HttpExchange exchange, String event, String data) throws IOException {
+            write(exchange, "event: " + event + "\ndata: " + data + "\n\n");
+        }
+
+        void write(HttpExchange exchange, String raw) throws IOException {
+            OutputStream body = exchange.getResponseBody();
+            body.write(raw.getBytes(StandardCharsets.UTF_8));
+            body.flush();
+        }
+
+        void stop() {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+}
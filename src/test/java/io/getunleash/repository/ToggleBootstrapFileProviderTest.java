@@ -34,4 +34,12 @@ class ToggleBootstrapFileProviderTest {
         Optional<String> read = bootstrap.read();
         assertThat(read).isPresent();
     }
+
+    @Test
+    public void missingClasspathReferenceIsEmpty() {
+        ToggleBootstrapFileProvider bootstrap =
+                new ToggleBootstrapFileProvider("classpath:does-not-exist.json");
+
+        assertThat(bootstrap.read()).isEmpty();
+    }
 }
@@ -0,0 +1,80 @@
+package io.getunleash.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ToggleBootstrapStreamProviderTest {
+    private static final String FEATURES = "{\"version\":2,\"features\":[]}";
+
+    @Test
+    public void reads_resource_inside_a_jar(@TempDir Path dir) throws IOException {
+        Path jar = dir.resolve("app.jar");
+        try (OutputStream out = Files.newOutputStream(jar);
+                JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(new ZipEntry("unleash/features.json"));
+            jarOut.write(FEATURES.getBytes(StandardCharsets.UTF_8));
+            jarOut.closeEntry();
+        }
+        URL resource = new URL("jar:" + jar.toUri() + "!/unleash/features.json");
+
+        assertThat(new ToggleBootstrapStreamProvider(resource).read()).contains(FEATURES);
+    }
+
+    @Test
+    public void reads_classpath_resource() {
+        assertThat(ToggleBootstrapStreamProvider.fromClasspath("unleash-repo-v0.json").read())
+                .isPresent();
+        assertThat(ToggleBootstrapStreamProvider.fromClasspath("does-not-exist.json").read())
+                .isEmpty();
+    }
+
+    @Test
+    public void reads_snapshot_from_input_stream() throws IOException {
+        byte[] snapshot = FeatureSnapshot.encode(FEATURES, 3);
+
+        assertThat(
+                        new ToggleBootstrapStreamProvider(() -> new ByteArrayInputStream(snapshot))
+                                .read())
+                .contains(FEATURES);
+    }
+
+    @Test
+    public void unresponsive_url_times_out() throws IOException {
+        // Connections are accepted by the backlog, but nothing is ever sent.
+        try (ServerSocket server = new ServerSocket(0)) {
+            URL url = new URL("http://localhost:" + server.getLocalPort() + "/features.json");
+            ToggleBootstrapStreamProvider provider =
+                    new ToggleBootstrapStreamProvider(url, Duration.ofMillis(200));
+
+            long start = System.nanoTime();
+            assertThat(provider.read()).isEmpty();
+            assertThat(Duration.ofNanos(System.nanoTime() - start))
+                    .isLessThan(Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    public void failing_source_is_empty() {
+        ToggleBootstrapStreamProvider provider =
+                new ToggleBootstrapStreamProvider(
+                        () -> {
+                            throw new FileNotFoundException("gone");
+                        });
+
+        assertThat(provider.read()).isEmpty();
+    }
+}
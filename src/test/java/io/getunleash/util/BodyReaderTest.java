@@ -0,0 +1,67 @@
+package io.getunleash.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class BodyReaderTest {
+
+    @Test
+    public void reads_body_exactly_as_sent() throws IOException {
+        String body = "{\"version\":2,\r\n\"features\":[\"blåbær\"]}\n";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(BodyReader.read(new ByteArrayInputStream(bytes), bytes.length)).isEqualTo(body);
+    }
+
+    @Test
+    public void grows_when_length_is_unknown_or_wrong() throws IOException {
+        char[] chars = new char[BodyReader.DEFAULT_SIZE * 3 + 17];
+        Arrays.fill(chars, 'x');
+        String body = new String(chars);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(BodyReader.read(trickle(bytes), -1)).isEqualTo(body);
+        assertThat(BodyReader.read(trickle(bytes), 10)).isEqualTo(body);
+        assertThat(BodyReader.read(new ByteArrayInputStream(bytes), bytes.length * 2L))
+                .isEqualTo(body);
+    }
+
+    @Test
+    public void pooled_buffer_does_not_leak_between_reads() throws IOException {
+        byte[] first = "first-body-that-is-longer".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "second".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(BodyReader.read(new ByteArrayInputStream(first), first.length))
+                .isEqualTo("first-body-that-is-longer");
+        assertThat(BodyReader.read(new ByteArrayInputStream(second), -1)).isEqualTo("second");
+        assertThat(BodyReader.read(new ByteArrayInputStream(new byte[0]), 0)).isEmpty();
+    }
+
+    @Test
+    public void oversized_buffers_are_not_kept_for_the_next_read() throws IOException {
+        byte[] large = new byte[BodyReader.MAX_POOLED_SIZE * 4];
+        Arrays.fill(large, (byte) 'x');
+
+        assertThat(BodyReader.read(new ByteArrayInputStream(large), large.length))
+                .hasSize(large.length);
+        assertThat(BodyReader.read(trickle(large), -1)).hasSize(large.length);
+        assertThat(BodyReader.pooledBufferSize()).isLessThanOrEqualTo(BodyReader.MAX_POOLED_SIZE);
+    }
+
+    /** Returns at most a few bytes per read, like a slow socket. */
+    private static InputStream trickle(byte[] bytes) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+    }
+}
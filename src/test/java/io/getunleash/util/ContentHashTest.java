@@ -0,0 +1,44 @@
+package io.getunleash.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+public class ContentHashTest {
+
+    @Test
+    public void matches_murmur3_x64_128_reference_value() {
+        byte[] data =
+                "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(ContentHash.hash64(data)).isEqualTo(0xe34bbc7bbc071b6cL);
+        assertThat(ContentHash.hash64(new byte[0])).isZero();
+    }
+
+    @Test
+    public void byte_hash_leaves_its_input_untouched() {
+        byte[] data =
+                "{\"name\":\"toggle\",\"enabled\":true}\u00ff".getBytes(StandardCharsets.UTF_8);
+        byte[] copy = data.clone();
+
+        long first = ContentHash.hash64(data);
+
+        assertThat(data).isEqualTo(copy);
+        assertThat(ContentHash.hash64(data)).isEqualTo(first);
+        assertThat(ContentHash.hash64(data, 2, 9))
+                .isEqualTo(ContentHash.hash64(Arrays.copyOfRange(data, 2, 11)));
+    }
+
+    @Test
+    public void string_hash_equals_hash_of_utf16le_bytes_for_every_tail_length() {
+        String content = "{\"name\":\"toggle\",\"enabled\":true,\"strategies\":[]}æøå";
+        for (int length = 0; length <= content.length(); length++) {
+            String prefix = content.substring(0, length);
+
+            assertThat(ContentHash.hash64(prefix))
+                    .isEqualTo(ContentHash.hash64(prefix.getBytes(StandardCharsets.UTF_16LE)));
+        }
+    }
+}
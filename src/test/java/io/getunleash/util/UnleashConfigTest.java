@@ -34,6 +34,19 @@ public class UnleashConfigTest {
         assertThrows(IllegalStateException.class, ex);
     }
 
+    @Test
+    public void should_not_combine_synchronous_and_concurrent_initialisation() {
+        Executable ex =
+                () ->
+                        UnleashConfig.builder()
+                                .appName("test")
+                                .unleashAPI("http://unleash.com")
+                                .synchronousFetchOnInitialisation(true)
+                                .concurrentInitialisation(true)
+                                .build();
+        assertThrows(IllegalStateException.class, ex);
+    }
+
     @Test
     public void should_require_valid_uri() {
         Executable ex = () -> UnleashConfig.builder().unleashAPI("this is not a uri").build();
@@ -0,0 +1,103 @@
+package io.getunleash.variant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class PayloadCacheTest {
+
+    private static final Gson GSON = new Gson();
+
+    @Test
+    public void identical_payloads_are_decoded_once() {
+        PayloadCache cache = new PayloadCache(10);
+        AtomicInteger decodes = new AtomicInteger();
+        Function<String, JsonObject> decoder =
+                json -> {
+                    decodes.incrementAndGet();
+                    return GSON.fromJson(json, JsonObject.class);
+                };
+        Variant first = new Variant("a", new Payload("json", "{\"limit\":5}"), true, true);
+        Variant second = new Variant("a", new Payload("json", "{\"limit\":5}"), true, true);
+
+        JsonObject decoded = first.getPayloadAs(JsonObject.class, decoder, cache).get();
+        assertThat(second.getPayloadAs(JsonObject.class, decoder, cache).get()).isSameAs(decoded);
+        assertThat(decoded.get("limit").getAsInt()).isEqualTo(5);
+        assertThat(decodes).hasValue(1);
+
+        Variant changed = new Variant("a", new Payload("json", "{\"limit\":6}"), true, true);
+        assertThat(
+                        changed.getPayloadAs(JsonObject.class, decoder, cache)
+                                .get()
+                                .get("limit")
+                                .getAsInt())
+                .isEqualTo(6);
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    public void least_recently_used_entry_is_evicted() {
+        PayloadCache cache = new PayloadCache(2);
+        AtomicInteger decodes = new AtomicInteger();
+        Function<String, String> decoder =
+                value -> {
+                    decodes.incrementAndGet();
+                    return value.toUpperCase();
+                };
+
+        cache.get(new Payload("string", "a"), String.class, decoder);
+        cache.get(new Payload("string", "b"), String.class, decoder);
+        cache.get(new Payload("string", "a"), String.class, decoder);
+        cache.get(new Payload("string", "c"), String.class, decoder);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(decodes).hasValue(3);
+
+        cache.get(new Payload("string", "a"), String.class, decoder);
+        assertThat(decodes).hasValue(3);
+        cache.get(new Payload("string", "b"), String.class, decoder);
+        assertThat(decodes).hasValue(4);
+    }
+
+    @Test
+    public void striped_cache_stays_within_capacity() {
+        PayloadCache cache = new PayloadCache(256);
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(new Payload("string", "value-" + i), String.class, String::trim);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(256).isGreaterThan(0);
+    }
+
+    @Test
+    public void variant_decodes_through_the_cache_it_was_created_with() {
+        PayloadCache cache = new PayloadCache(10);
+        AtomicInteger decodes = new AtomicInteger();
+        Function<String, String> decoder =
+                value -> {
+                    decodes.incrementAndGet();
+                    return value.toUpperCase();
+                };
+        Payload payload = new Payload("string", "a");
+
+        new Variant("a", payload, true, true, cache).getPayloadAs(String.class, decoder);
+        new Variant("a", payload, true, true, cache).getPayloadAs(String.class, decoder);
+        assertThat(decodes).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+
+        Variant uncached = new Variant("a", payload, true, true);
+        assertThat(uncached.getPayloadAs(String.class, decoder)).contains("A");
+        assertThat(uncached.getPayloadAs(String.class, decoder)).contains("A");
+        assertThat(decodes).hasValue(3);
+        assertThat(uncached).isEqualTo(new Variant("a", payload, true, true, cache));
+    }
+
+    @Test
+    public void missing_payload_is_empty() {
+        assertThat(Variant.DISABLED_VARIANT.getPayloadAs(String.class, value -> value)).isEmpty();
+        assertThat(new Variant("a", (Payload) null, true, true).getPayloadAs(String.class, v -> v))
+                .isEmpty();
+    }
+}